@@ -0,0 +1,56 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * A class which makes the calendar of free kennels for the next days shown on the website.
+ * The calendar is a short JSON document, for example
+ * <pre>{"start":"2024-12-24","capacity":10,"free":[8,8,9,10,...]}</pre>
+ * where the first number of "free" is the number of free kennels during the night after the start date.
+ * The numbers are read from the occupancy of the booking list in one walk, not one day at a time.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class AvailabilityExport {
+    public static final int FORECAST_DAYS = 30; // the number of days in the calendar
+
+    /**
+     * Makes the JSON calendar of free kennels.
+     *
+     * @param bookingList  the bookings
+     * @param startDate    the first day of the calendar
+     * @param numberOfDays the number of days in the calendar
+     * @return the JSON document
+     */
+    public static String toJson(BookingList bookingList, Date startDate, int numberOfDays) {
+        int[] free;
+        int capacity;
+        synchronized (bookingList) {
+            free = bookingList.getFreeSpaces(startDate, numberOfDays);
+            capacity = bookingList.getNumberOfKennels();
+        }
+        StringBuilder json = new StringBuilder(48 + numberOfDays * 3);
+        json.append("{\"start\":\"").append(LocalDate.ofEpochDay(startDate.toEpochDay()))
+                .append("\",\"capacity\":").append(capacity)
+                .append(",\"free\":[");
+        for (int i = 0; i < free.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(free[i]);
+        }
+        json.append("]}");
+        return json.toString();
+    }
+
+    /**
+     * Makes the JSON calendar of free kennels from today for FORECAST_DAYS days.
+     *
+     * @param bookingList the bookings
+     * @return the JSON document
+     */
+    public static String toJson(BookingList bookingList) {
+        return toJson(bookingList, Date.today(), FORECAST_DAYS);
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Objects;
+
 /**
  * A class representing a bird, extending the Pet class.
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
@@ -8,6 +10,7 @@ package model;
 public class Bird extends Pet
 
 {
+    private static final long serialVersionUID = -8879403433274225853L;
     // Private instance variables for bird
     private String preferredFood; //food preferred by Pet
     private String species; //Pet species
@@ -86,12 +89,13 @@ public class Bird extends Pet
         return preferredFood;
     }
     /**
-     * Override equals method inheriting from Pet class to compare dogs for equality.
-     * @param object Object to compare.
-     * @return True if the birds are the same, false if they're not.
+     * Compares all the data of two birds, but not their ids, inheriting from Pet class.
+     * @param object Pet to compare.
+     * @return True if the birds have the same data, false if they don't.
      */
 
-    public boolean equals(Object object)
+    @Override
+    public boolean hasSameData(Pet object)
     {
         // Check if the object is null or of a different class
         if (object==null || getClass() != object.getClass())
@@ -101,7 +105,7 @@ public class Bird extends Pet
         // makes a copy
         Bird newBird = (Bird) object;
         // compare instance variables for equality
-        return super.equals(newBird) && preferredFood.equals(newBird.preferredFood) && this.species.equals(newBird.getSpecies());
+        return super.hasSameData(newBird) && Objects.equals(preferredFood, newBird.preferredFood) && Objects.equals(this.species, newBird.getSpecies());
     }
 
 
@@ -0,0 +1,109 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A class representing the result of adding many bookings to a booking list at once.
+ * The bookings are only added if all of them fit; otherwise the report tells which bookings
+ * would not get a kennel and during which nights.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class BookingImportReport {
+    private final int numberOfBookings; // the number of bookings which were to be added
+    private final LinkedHashMap<KennelBooking, ArrayList<Date>> overflows; // nights without a kennel for every booking
+    private final ArrayList<KennelBooking> alreadyBooked; // bookings which were already in the list
+
+    /**
+     * Constructs an empty report.
+     *
+     * @param numberOfBookings the number of bookings which were to be added
+     */
+    BookingImportReport(int numberOfBookings) {
+        this.numberOfBookings = numberOfBookings;
+        this.overflows = new LinkedHashMap<KennelBooking, ArrayList<Date>>();
+        this.alreadyBooked = new ArrayList<KennelBooking>();
+    }
+
+    /**
+     * Records a night during which a booking would not get a kennel.
+     *
+     * @param booking the booking
+     * @param night   the night
+     */
+    void addOverflow(KennelBooking booking, Date night) {
+        overflows.computeIfAbsent(booking, key -> new ArrayList<Date>()).add(night);
+    }
+
+    /**
+     * Records a booking which is already in the list.
+     *
+     * @param booking the booking
+     */
+    void addAlreadyBooked(KennelBooking booking) {
+        alreadyBooked.add(booking);
+    }
+
+    /**
+     * Checks if the bookings were added.
+     *
+     * @return true if all bookings were added, false if none of them were
+     */
+    public boolean isAdded() {
+        return overflows.isEmpty() && alreadyBooked.isEmpty();
+    }
+
+    /**
+     * Gets the number of bookings which were to be added.
+     *
+     * @return the number of bookings
+     */
+    public int getNumberOfBookings() {
+        return numberOfBookings;
+    }
+
+    /**
+     * Gets the bookings which would not get a kennel, together with the nights when no kennel would be free.
+     * When bookings compete for the last kennels, the ones starting later are the ones reported.
+     *
+     * @return a map from the booking to its nights, in the order of the first night
+     */
+    public Map<KennelBooking, ArrayList<Date>> getOverflows() {
+        return overflows;
+    }
+
+    /**
+     * Gets the bookings which were already in the list.
+     *
+     * @return an ArrayList of the bookings
+     */
+    public ArrayList<KennelBooking> getAlreadyBooked() {
+        return alreadyBooked;
+    }
+
+    /**
+     * Override toString method returns a description of the result, one line for every booking which did not fit.
+     *
+     * @return a string describing the result
+     */
+    @Override
+    public String toString() {
+        if (isAdded()) {
+            return numberOfBookings + " bookings added";
+        }
+        StringBuilder text = new StringBuilder("No bookings added");
+        for (Map.Entry<KennelBooking, ArrayList<Date>> overflow : overflows.entrySet()) {
+            text.append("\nNo free kennel for ").append(overflow.getKey()).append(" on the nights of");
+            for (Date night : overflow.getValue()) {
+                text.append(' ').append(night);
+            }
+        }
+        for (KennelBooking booking : alreadyBooked) {
+            text.append("\nAlready booked: ").append(booking);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+/**
+ * A class representing an interval index over the dates of kennel bookings.
+ * Every booking is stored as the interval of nights [start date, end date) counted in epoch days.
+ * The index is a randomized search tree ordered by start date, where every node also remembers
+ * the latest end date in its subtree, so all bookings overlapping a date range can be found
+ * without looking at the bookings which are already over.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class BookingIntervalTree {
+    private Node root; // root of the tree, null when the tree is empty
+    private final IdentityHashMap<KennelBooking, Node> nodes; // stored node of every booking
+    private final Random random; // source of the node priorities
+    private long nextSequence; // tie breaker for bookings starting on the same day
+
+    /**
+     * Constructs an empty interval tree.
+     */
+    public BookingIntervalTree() {
+        this.nodes = new IdentityHashMap<KennelBooking, Node>();
+        this.random = new Random();
+    }
+
+    /**
+     * Gets the number of bookings stored in the tree.
+     *
+     * @return the number of bookings
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Adds a booking to the tree, using the dates the booking has right now.
+     *
+     * @param booking the booking to be added
+     */
+    public void add(KennelBooking booking) {
+        if (nodes.containsKey(booking)) {
+            return;
+        }
+        Node node = new Node(booking, booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay(),
+                nextSequence++, random.nextInt());
+        nodes.put(booking, node);
+        Node[] parts = split(root, node.start, node.sequence);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    /**
+     * Removes a booking from the tree. The booking is found by identity, so it has to be
+     * the same object which was added.
+     *
+     * @param booking the booking to be removed
+     */
+    public void remove(KennelBooking booking) {
+        Node node = nodes.remove(booking);
+        if (node == null) {
+            return;
+        }
+        Node[] lower = split(root, node.start, node.sequence);
+        Node[] upper = split(lower[1], node.start, node.sequence + 1);
+        root = merge(lower[0], upper[1]);
+    }
+
+    /**
+     * Removes all bookings from the tree.
+     */
+    public void clear() {
+        root = null;
+        nodes.clear();
+    }
+
+    /**
+     * Gets all bookings which have at least one night in the range [startDay, endDay).
+     *
+     * @param startDay the first night of the range as an epoch day
+     * @param endDay   the day after the last night of the range as an epoch day
+     * @return an ArrayList of the overlapping bookings
+     */
+    public ArrayList<KennelBooking> getOverlapping(int startDay, int endDay) {
+        ArrayList<KennelBooking> overlapping = new ArrayList<KennelBooking>();
+        collectOverlapping(root, startDay, endDay, overlapping);
+        return overlapping;
+    }
+
+    private void collectOverlapping(Node node, int startDay, int endDay, ArrayList<KennelBooking> overlapping) {
+        if (node == null || node.maxEnd <= startDay) {
+            return; // every booking in this subtree has ended before the range
+        }
+        collectOverlapping(node.left, startDay, endDay, overlapping);
+        if (node.start < endDay) {
+            if (node.end > startDay && node.start < node.end) {
+                overlapping.add(node.booking);
+            }
+            collectOverlapping(node.right, startDay, endDay, overlapping);
+        }
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before (start, sequence) and the rest.
+     */
+    private static Node[] split(Node node, int start, long sequence) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (node.start < start || (node.start == start && node.sequence < sequence)) {
+            Node[] parts = split(node.right, start, sequence);
+            node.right = parts[0];
+            node.update();
+            return new Node[] {node, parts[1]};
+        }
+        Node[] parts = split(node.left, start, sequence);
+        node.left = parts[1];
+        node.update();
+        return new Node[] {parts[0], node};
+    }
+
+    /**
+     * Merges two subtrees, where every node of the first one is ordered before the second one.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    /**
+     * A node of the tree holding one booking.
+     */
+    private static class Node {
+        private final KennelBooking booking;
+        private final int start; // first night as an epoch day
+        private final int end; // day of leaving as an epoch day
+        private final long sequence;
+        private final int priority;
+        private int maxEnd; // latest end in the subtree of this node
+        private Node left;
+        private Node right;
+
+        private Node(KennelBooking booking, int start, int end, long sequence, int priority) {
+            this.booking = booking;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
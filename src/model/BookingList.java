@@ -1,24 +1,52 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * A class representing a list of kennel bookings.
  * This class manages a list of  KennelBooking objects and provides functionality
  * to add, remove, edit bookings, and check kennel availability.
+ * <p>
+ * The kennels are described by a KennelCapacity: a kind of pet can have its own kennels, which only its
+ * pets use, and all other pets share the remaining kennels. Every group of kennels has its own occupancy,
+ * so the free kennels for a kind of pet are found in logarithmic time. The methods which take no class name, or
+ * null as the class name, count all kennels together, for example for the website. A class name without kennels
+ * of its own stands for the shared kennels, which also have methods of their own.
  *
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0 - December 2024
  */
-public class BookingList implements Serializable {
+public class BookingList extends ModelList<KennelBooking> implements Serializable {
+    private static final long serialVersionUID = -4509735821890410670L;
+    private static final int NUMBER_OF_KENNELS = 10; //number of shared kennels until a capacity is set
     private ArrayList<KennelBooking> bookings; //ArrayList to store all sales
+    private transient HashMap<Long, Integer> positions; //index of every booking by its id, rebuilt after reading from a file
+    private transient BookingIntervalTree bookingDates; //index of the booking dates, rebuilt after reading from a file
+    private transient KennelCapacity capacity; //kennels for every kind of pet, saved in a file of its own
+    private transient KennelOccupancy occupancy; //taken shared kennels on every day, rebuilt after reading from a file
+    private transient HashMap<String, KennelOccupancy> occupancyByClass; //taken own kennels of the kinds of pets which have them
+    private transient IdentityHashMap<KennelBooking, KennelOccupancy> occupancyOfBooking; //the occupancy every booking is counted in
 
     /**
      * Constructs an empty BookingList.
      */
     public BookingList() {
         this.bookings = new ArrayList<KennelBooking>();
+        this.capacity = new KennelCapacity(NUMBER_OF_KENNELS);
+        rebuildBookingDates();
     }
 
     /**
@@ -28,6 +56,134 @@ public class BookingList implements Serializable {
      */
     public BookingList(ArrayList<KennelBooking> bookings) {
         this.bookings = new ArrayList<KennelBooking>(bookings);
+        this.capacity = new KennelCapacity(NUMBER_OF_KENNELS);
+        rebuildBookingDates();
+    }
+
+    /**
+     * Rebuilds the index of the booking dates, the occupancy of the kennels and the positions of the bookings
+     * from the list of bookings and the capacity.
+     */
+    private void rebuildBookingDates() {
+        bookingDates = new BookingIntervalTree();
+        occupancy = new KennelOccupancy(capacity.getKennels(null));
+        occupancyByClass = new HashMap<String, KennelOccupancy>();
+        for (String className : capacity.getClassNames()) {
+            occupancyByClass.put(className, new KennelOccupancy(capacity.getKennels(className)));
+        }
+        for (KennelCapacity.Change change : capacity.getChanges()) {
+            if (change.className() == null || capacity.hasOwnKennels(change.className())) {
+                // closed kennels are counted as taken, added kennels as freed
+                getOccupancy(change.className()).add(change.startDate().toEpochDay(), change.endDate().toEpochDay(), -change.difference());
+            }
+        }
+        occupancyOfBooking = new IdentityHashMap<KennelBooking, KennelOccupancy>();
+        positions = new HashMap<Long, Integer>();
+        for (int i = 0; i < bookings.size(); i++) {
+            positions.put(bookings.get(i).getId(), i);
+        }
+        for (KennelBooking booking : bookings) {
+            indexBooking(booking);
+        }
+    }
+
+    /**
+     * Adds the dates of a booking to the index and the occupancy.
+     *
+     * @param booking the booking to be added
+     */
+    private void indexBooking(KennelBooking booking) {
+        bookingDates.add(booking);
+        KennelOccupancy bookingOccupancy = getOccupancy(getClassName(booking));
+        occupancyOfBooking.put(booking, bookingOccupancy);
+        bookingOccupancy.add(booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay(), 1);
+    }
+
+    /**
+     * Removes the dates of a booking from the index and the occupancy.
+     *
+     * @param booking the booking to be removed
+     */
+    private void unindexBooking(KennelBooking booking) {
+        bookingDates.remove(booking);
+        KennelOccupancy bookingOccupancy = occupancyOfBooking.remove(booking); // the pet can have been replaced since
+        if (bookingOccupancy != null) {
+            bookingOccupancy.add(booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay(), -1);
+        }
+    }
+
+    /**
+     * Gets the occupancy of the kennels used by a kind of pet.
+     *
+     * @param className the class name of the pets, or null for the shared kennels
+     * @return the occupancy of the own kennels of the pets, or of the shared kennels
+     */
+    private KennelOccupancy getOccupancy(String className) {
+        return capacity.hasOwnKennels(className) ? occupancyByClass.get(className) : occupancy;
+    }
+
+    /**
+     * Gets the kennels the public methods mean by a class name.
+     *
+     * @param className the class name of the pets, or null for all kennels
+     * @return the occupancy of the kennels the pets use, or null for all kennels together
+     */
+    private KennelOccupancy getKennels(String className) {
+        return className == null ? null : getOccupancy(className);
+    }
+
+    /**
+     * Checks if a kennel of a group is free on every night of a range, with one look at the fullest night
+     * of the range, no matter how long the booking history is. A range without nights is always free.
+     */
+    private static boolean hasFreeKennel(KennelOccupancy kennels, Date startDate, Date endDate) {
+        int startDay = startDate.toEpochDay();
+        int endDay = endDate.toEpochDay();
+        return startDay >= endDay || kennels.getMaxTaken(startDay, endDay) < kennels.getCapacity();
+    }
+
+    /**
+     * Gets the class name of the pet of a booking.
+     *
+     * @param booking the booking
+     * @return the class name, or null if the booking has no pet
+     */
+    private static String getClassName(KennelBooking booking) {
+        return booking.getPet() == null ? null : booking.getPet().getPetClassName();
+    }
+
+    /**
+     * Gets the number of kennels for every kind of pet.
+     *
+     * @return a copy of the capacity
+     */
+    public synchronized KennelCapacity getCapacity() {
+        return capacity.copy();
+    }
+
+    /**
+     * Changes the number of kennels for every kind of pet. The bookings already in the list are kept,
+     * even if there are now too few kennels for them. The listeners are told that the list changed.
+     *
+     * @param capacity the new capacity
+     */
+    public synchronized void setCapacity(KennelCapacity capacity) {
+        this.capacity = capacity.copy();
+        rebuildBookingDates();
+        fireListChanged();
+    }
+
+    /**
+     * Reads the list from a file and rebuilds the index of the booking dates, which is not saved.
+     *
+     * @param in the stream to read from
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        capacity = new KennelCapacity(NUMBER_OF_KENNELS);
+        rebuildBookingDates();
     }
 
     /**
@@ -40,82 +196,385 @@ public class BookingList implements Serializable {
     }
 
     /**
-     * Adds a booking to the list if there is available space during the specified dates.
+     * Adds a booking to the list if there is a free kennel for the kind of its pet during the specified dates.
      *
      * @param booking the booking to be added
      * @return true if the booking was successfully added, otherwise false
      */
-    public boolean addBooking(KennelBooking booking) {
-        if (isKennelFree(booking.getStartDate(), booking.getEndDate())) {
-            bookings.add(booking);
+    public synchronized boolean addBooking(KennelBooking booking) {
+        if (getIndex(booking) == -1 && hasFreeKennel(getOccupancy(getClassName(booking)), booking.getStartDate(), booking.getEndDate())) {
+            addElement(booking);
             return true;
         }
         return false;
     }
 
+    /**
+     * Adds many bookings at once, for example a group booking of a breeder, but only if there is space for all of them.
+     * The bookings are sorted by their start dates and checked together in one sweep over the nights they cover,
+     * then either all of them are added or none.
+     *
+     * @param newBookings the bookings to be added
+     * @return a report telling if the bookings were added, and if not, which bookings did not fit on which nights
+     */
+    public synchronized BookingImportReport addBookings(Collection<KennelBooking> newBookings) {
+        BookingImportReport report = new BookingImportReport(newBookings.size());
+        ArrayList<KennelBooking> accepted = new ArrayList<KennelBooking>(newBookings.size());
+        HashSet<Long> ids = new HashSet<Long>();
+        for (KennelBooking booking : newBookings) {
+            if (getIndex(booking) != -1 || !ids.add(booking.getId())) {
+                report.addAlreadyBooked(booking);
+            } else {
+                accepted.add(booking);
+            }
+        }
+        LinkedHashMap<KennelOccupancy, ArrayList<KennelBooking>> byOccupancy = new LinkedHashMap<KennelOccupancy, ArrayList<KennelBooking>>();
+        for (KennelBooking booking : accepted) {
+            byOccupancy.computeIfAbsent(getOccupancy(getClassName(booking)), key -> new ArrayList<KennelBooking>()).add(booking);
+        }
+        for (Map.Entry<KennelOccupancy, ArrayList<KennelBooking>> group : byOccupancy.entrySet()) {
+            findOverflows(group.getKey(), group.getValue(), report);
+        }
+        if (report.isAdded()) {
+            for (KennelBooking booking : accepted) {
+                addElement(booking);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Walks through the nights covered by new bookings using the same kennels, keeping the new bookings staying
+     * during the night ordered by their start dates. When there are fewer free kennels than staying bookings,
+     * the bookings which started last are reported.
+     */
+    private void findOverflows(KennelOccupancy kennels, ArrayList<KennelBooking> newBookings, BookingImportReport report) {
+        ArrayList<KennelBooking> byStart = new ArrayList<KennelBooking>();
+        for (KennelBooking booking : newBookings) {
+            if (booking.getStartDate().toEpochDay() < booking.getEndDate().toEpochDay()) {
+                byStart.add(booking);
+            }
+        }
+        if (byStart.isEmpty()) {
+            return;
+        }
+        byStart.sort(Comparator.comparingInt(booking -> booking.getStartDate().toEpochDay()));
+        Integer[] byEnd = new Integer[byStart.size()]; // positions in byStart, sorted by the end dates
+        int firstDay = byStart.get(0).getStartDate().toEpochDay();
+        int lastDay = firstDay;
+        for (int i = 0; i < byEnd.length; i++) {
+            byEnd[i] = i;
+            lastDay = Math.max(lastDay, byStart.get(i).getEndDate().toEpochDay());
+        }
+        Arrays.sort(byEnd, Comparator.comparingInt(i -> byStart.get(i).getEndDate().toEpochDay()));
+        int[] free = kennels.getFree(firstDay, lastDay - firstDay);
+
+        TreeSet<Integer> staying = new TreeSet<Integer>(); // positions in byStart of the bookings staying this night
+        int nextStart = 0;
+        int nextEnd = 0;
+        int day = firstDay;
+        while (day < lastDay) {
+            while (nextEnd < byEnd.length && byStart.get(byEnd[nextEnd]).getEndDate().toEpochDay() == day) {
+                staying.remove(byEnd[nextEnd]);
+                nextEnd++;
+            }
+            while (nextStart < byStart.size() && byStart.get(nextStart).getStartDate().toEpochDay() == day) {
+                staying.add(nextStart);
+                nextStart++;
+            }
+            if (staying.isEmpty()) {
+                day = byStart.get(nextStart).getStartDate().toEpochDay(); // no new booking until the next one starts
+                continue;
+            }
+            int overflowing = staying.size() - Math.max(free[day - firstDay], 0);
+            for (Integer position : staying.descendingSet()) {
+                if (overflowing-- <= 0) {
+                    break;
+                }
+                report.addOverflow(byStart.get(position), Date.ofEpochDay(day));
+            }
+            day++;
+        }
+    }
+
     /**
      * Removes a booking from the list.
      *
      * @param booking the booking to be removed
      */
-    public void removeBooking(KennelBooking booking) {
-        bookings.remove(booking);
+    public synchronized void removeBooking(KennelBooking booking) {
+        int index = getIndex(booking);
+        if (index != -1) {
+            removeElement(index);
+        }
     }
 
     /**
-     * Edits an existing booking by replacing it with a new booking.
-     * If the new booking's dates conflict with other bookings, the edit will fail.
+     * Edits an existing booking by replacing it with a new booking, which takes over the id of the old one.
+     * If there is no free kennel for the new booking, not counting the old one, or the old booking is no longer
+     * in the list, the edit will fail.
      *
      * @param bookingToBeChanged the booking to be edited
      * @param bookingToChangeTo  the new booking to replace the old one
      * @return true if the edit was successful, otherwise false
      */
-    public boolean editBooking(KennelBooking bookingToBeChanged, KennelBooking bookingToChangeTo) {
-        BookingList bookingListCopy = new BookingList(this.getBookings());
+    public synchronized boolean editBooking(KennelBooking bookingToBeChanged, KennelBooking bookingToChangeTo) {
+        int index = this.getIndex(bookingToBeChanged);
+        if (index == -1) {
+            return false; // removed since the booking was chosen
+        }
+        KennelBooking oldBooking = bookings.get(index);
         if (!bookingToBeChanged.getStartDate().equals(bookingToChangeTo.getStartDate()) ||
-                !bookingToBeChanged.getEndDate().equals(bookingToChangeTo.getEndDate())) {
-            bookingListCopy.removeBooking(bookingToBeChanged);
-            if(bookingListCopy.isKennelFree(bookingToChangeTo.getStartDate(), bookingToChangeTo.getEndDate())) {
-                bookings.set(this.getIndex(bookingToBeChanged), bookingToChangeTo);
-                return true;
-            }
-            else
-            {
+                !bookingToBeChanged.getEndDate().equals(bookingToChangeTo.getEndDate()) ||
+                occupancyOfBooking.get(oldBooking) != getOccupancy(getClassName(bookingToChangeTo))) {
+            unindexBooking(oldBooking); // the old booking must not take a kennel from its replacement
+            boolean kennelFree = hasFreeKennel(getOccupancy(getClassName(bookingToChangeTo)), bookingToChangeTo.getStartDate(), bookingToChangeTo.getEndDate());
+            indexBooking(oldBooking);
+            if(!kennelFree) {
                 return false;
             }
         }
-        bookings.set(this.getIndex(bookingToBeChanged), bookingToChangeTo);
+        bookingToChangeTo.setId(oldBooking.getId());
+        setElement(index, bookingToChangeTo);
         return true;
     }
 
+    /**
+     * Moves a booking to new dates without replacing it, if there is a free kennel for its pet on every new night,
+     * not counting the booking itself.
+     *
+     * @param booking   the booking to be moved
+     * @param startDate the new start date
+     * @param endDate   the new end date
+     * @return the nights without a free kennel, empty if the booking was moved, or null if the booking is not in the list
+     */
+    public synchronized ArrayList<Date> moveBooking(KennelBooking booking, Date startDate, Date endDate) {
+        int index = getIndex(booking);
+        if (index == -1) {
+            return null;
+        }
+        KennelBooking listedBooking = bookings.get(index);
+        ArrayList<Date> conflicts = getConflictingNights(getOccupancy(getClassName(listedBooking)),
+                startDate.toEpochDay(), endDate.toEpochDay(), listedBooking);
+        if (conflicts.isEmpty()) {
+            unindexBooking(listedBooking);
+            listedBooking.setStartDate(startDate.copy());
+            listedBooking.setEndDate(endDate.copy());
+            indexBooking(listedBooking);
+            fireElementChanged(index, listedBooking, listedBooking);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Gets the nights of a booking during which there is no free kennel for its pet, for example to tell
+     * why the booking cannot be added. A booking it replaces does not take a kennel.
+     *
+     * @param booking         the new booking
+     * @param replacedBooking the booking being edited, or null for a new booking
+     * @return the nights without a free kennel, in the order of their dates
+     */
+    public synchronized ArrayList<Date> getConflictingNights(KennelBooking booking, KennelBooking replacedBooking) {
+        KennelBooking listedBooking = null;
+        if (replacedBooking != null && getIndex(replacedBooking) != -1) {
+            listedBooking = bookings.get(getIndex(replacedBooking));
+        }
+        return getConflictingNights(getOccupancy(getClassName(booking)),
+                booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay(), listedBooking);
+    }
+
+    /**
+     * Reads the free kennels of the nights in one walk through the occupancy, giving back the kennel
+     * of the replaced booking where it stays in the same kennels.
+     */
+    private ArrayList<Date> getConflictingNights(KennelOccupancy kennels, int startDay, int endDay, KennelBooking replacedBooking) {
+        ArrayList<Date> conflicts = new ArrayList<Date>();
+        if (startDay >= endDay) {
+            return conflicts;
+        }
+        int[] free = kennels.getFree(startDay, endDay - startDay);
+        if (replacedBooking != null && occupancyOfBooking.get(replacedBooking) == kennels) {
+            int from = Math.max(startDay, replacedBooking.getStartDate().toEpochDay());
+            int to = Math.min(endDay, replacedBooking.getEndDate().toEpochDay());
+            for (int day = from; day < to; day++) {
+                free[day - startDay]++;
+            }
+        }
+        for (int day = startDay; day < endDay; day++) {
+            if (free[day - startDay] <= 0) {
+                conflicts.add(Date.ofEpochDay(day));
+            }
+        }
+        return conflicts;
+    }
+
+    @Override
+    KennelBooking getElement(int index) {
+        return bookings.get(index);
+    }
+
+    @Override
+    synchronized void addElement(KennelBooking booking) {
+        bookings.add(booking);
+        positions.put(booking.getId(), bookings.size() - 1);
+        indexBooking(booking);
+        fireElementAdded(bookings.size() - 1, booking);
+    }
+
+    @Override
+    synchronized void setElement(int index, KennelBooking booking) {
+        KennelBooking oldBooking = bookings.set(index, booking);
+        positions.remove(oldBooking.getId());
+        positions.put(booking.getId(), index);
+        unindexBooking(oldBooking);
+        indexBooking(booking);
+        fireElementChanged(index, oldBooking, booking);
+    }
+
+    @Override
+    synchronized void removeElement(int index) {
+        KennelBooking booking = bookings.remove(index);
+        positions.remove(booking.getId());
+        for (int i = index; i < bookings.size(); i++) {
+            positions.put(bookings.get(i).getId(), i);
+        }
+        unindexBooking(booking);
+        fireElementRemoved(index, booking);
+    }
+
     /**
      * Gets the index of a specific booking in the list.
      *
      * @param booking the booking whose index is to be retrieved
      * @return the index of the booking in the list, or "-1" if not found
      */
-    public int getIndex(KennelBooking booking) {
-        return bookings.indexOf(booking);
+    public synchronized int getIndex(KennelBooking booking) {
+        Integer index = positions.get(booking.getId());
+        return index == null ? -1 : index;
     }
 
     /**
-     * Gets the number of free spaces available on a given date.
+     * Gets the number of free spaces available on a given date, in all kennels together.
      *
      * @param date the date to check for free spaces
      * @return the number of free spaces available on the given date
      */
-    public int getFreeSpace(Date date) {
-        int freeSpace = 10; //number of all free spaces
-        for (KennelBooking booking : bookings) //loop is checking every booking from booking list
-        {
-            if (date.isDateBetween(booking.getStartDate(), booking.getEndDate())) //checking the date is between the dates of booking
-            {
-                freeSpace -= 1; // it subtracts one kennel booking
-            }
+    public synchronized int getFreeSpace(Date date) {
+        int freeSpace = occupancy.getCapacity() - occupancy.getTaken(date.toEpochDay());
+        for (KennelOccupancy classOccupancy : occupancyByClass.values()) {
+            freeSpace += classOccupancy.getCapacity() - classOccupancy.getTaken(date.toEpochDay());
         }
         return freeSpace;
     }
 
+    /**
+     * Gets the number of free spaces available on a given date for a kind of pet.
+     *
+     * @param date      the date to check for free spaces
+     * @param className the class name of the pets, for example "Dog", or null for all kennels together
+     * @return the number of free spaces available on the given date
+     */
+    public synchronized int getFreeSpace(Date date, String className) {
+        if (className == null) {
+            return getFreeSpace(date);
+        }
+        KennelOccupancy kennels = getOccupancy(className);
+        return kennels.getCapacity() - kennels.getTaken(date.toEpochDay());
+    }
+
+    /**
+     * Gets the number of free spaces in all kennels together for every night starting with a given date.
+     *
+     * @param startDate    the first night
+     * @param numberOfDays the number of nights
+     * @return an array with the number of free spaces, where index 0 is the start date
+     */
+    public synchronized int[] getFreeSpaces(Date startDate, int numberOfDays) {
+        int[] free = occupancy.getFree(startDate.toEpochDay(), numberOfDays);
+        for (KennelOccupancy classOccupancy : occupancyByClass.values()) {
+            int[] classFree = classOccupancy.getFree(startDate.toEpochDay(), numberOfDays);
+            for (int i = 0; i < numberOfDays; i++) {
+                free[i] += classFree[i];
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Gets the number of free spaces for a kind of pet for every night starting with a given date.
+     *
+     * @param startDate    the first night
+     * @param numberOfDays the number of nights
+     * @param className    the class name of the pets, for example "Dog", or null for all kennels together
+     * @return an array with the number of free spaces, where index 0 is the start date
+     */
+    public synchronized int[] getFreeSpaces(Date startDate, int numberOfDays, String className) {
+        if (className == null) {
+            return getFreeSpaces(startDate, numberOfDays);
+        }
+        return getOccupancy(className).getFree(startDate.toEpochDay(), numberOfDays);
+    }
+
+    /**
+     * Gets the number of free shared kennels, used by the pets whose kind has no kennels of its own,
+     * for every night starting with a given date.
+     *
+     * @param startDate    the first night
+     * @param numberOfDays the number of nights
+     * @return an array with the number of free spaces, where index 0 is the start date
+     */
+    public synchronized int[] getFreeSharedSpaces(Date startDate, int numberOfDays) {
+        return occupancy.getFree(startDate.toEpochDay(), numberOfDays);
+    }
+
+    /**
+     * Gets the number of free spaces for every day of a month, for example to show them in a calendar.
+     *
+     * @param month the month of the year
+     * @param year  the year
+     * @return an array with the number of free spaces, where index 0 is the first day of the month
+     */
+    public int[] getFreeSpacesInMonth(int month, int year) {
+        return getFreeSpaces(new Date(1, month, year), YearMonth.of(year, month).lengthOfMonth());
+    }
+
+    /**
+     * Gets the number of all kennels, without the changes for ranges of dates.
+     *
+     * @return the number of kennels
+     */
+    public synchronized int getNumberOfKennels() {
+        int kennels = capacity.getKennels(null);
+        for (String className : capacity.getClassNames()) {
+            kennels += capacity.getKennels(className);
+        }
+        return kennels;
+    }
+
+    /**
+     * Gets the number of kennels for a kind of pet, without the changes for ranges of dates.
+     *
+     * @param className the class name of the pets, for example "Dog", or null for all kennels together
+     * @return the number of kennels the pets can use
+     */
+    public synchronized int getNumberOfKennels(String className) {
+        if (className == null) {
+            return getNumberOfKennels();
+        }
+        return capacity.getKennels(className);
+    }
+
+    /**
+     * Gets all bookings which have at least one night in the date range.
+     *
+     * @param startDate the first night of the range
+     * @param endDate   the day after the last night of the range
+     * @return an ArrayList of the bookings staying in the range
+     */
+    public synchronized ArrayList<KennelBooking> getBookingsBetween(Date startDate, Date endDate) {
+        return bookingDates.getOverlapping(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
     /**
      * Gets the number of free spaces available today.
      *
@@ -126,7 +585,161 @@ public class BookingList implements Serializable {
     }
 
     /**
-     * Checks if the kennel is free during the specified date range.
+     * A period in which there are enough free kennels during every night.
+     *
+     * @param startDate the first night of the period
+     * @param endDate   the day after the last night of the period
+     */
+    public record FreeWindow(Date startDate, Date endDate) {
+        /**
+         * Gets the number of nights in the period.
+         *
+         * @return the number of nights
+         */
+        public int getNights() {
+            return startDate.daysUntil(endDate);
+        }
+    }
+
+    /**
+     * Finds the earliest stay of a number of nights, starting on or after a date, during which at least
+     * a number of kennels are free every night, counting all kennels together.
+     *
+     * @param fromDate the earliest first night
+     * @param nights   the number of nights of the stay
+     * @param kennels  the number of kennels which have to be free
+     * @return the first night of the earliest stay, or null if there are never enough kennels
+     */
+    public synchronized Date findEarliestFreeWindow(Date fromDate, int nights, int kennels) {
+        return findEarliestFreeWindow(fromDate, nights, kennels, null);
+    }
+
+    /**
+     * Finds the earliest stay of a number of nights, starting on or after a date, during which at least
+     * a number of the kennels for a kind of pet are free every night.
+     *
+     * @param fromDate  the earliest first night
+     * @param nights    the number of nights of the stay
+     * @param kennels   the number of kennels which have to be free
+     * @param className the class name of the pets, for example "Dog", or null for all kennels together
+     * @return the first night of the earliest stay, or null if there are never enough kennels
+     */
+    public synchronized Date findEarliestFreeWindow(Date fromDate, int nights, int kennels, String className) {
+        ArrayList<FreeWindow> windows = findFreeWindows(getKennels(className), fromDate.toEpochDay(), Integer.MAX_VALUE, nights, kennels, true);
+        return windows.isEmpty() ? null : windows.get(0).startDate();
+    }
+
+    /**
+     * Finds all periods in a date range with at least a number of free kennels every night, counting all kennels
+     * together, which are long enough for a stay of a number of nights. Every stay of that length inside one of the
+     * periods is possible.
+     *
+     * @param startDate the first night of the range
+     * @param endDate   the day after the last night of the range
+     * @param nights    the number of nights of the stay
+     * @param kennels   the number of kennels which have to be free
+     * @return the longest possible periods, in the order of their dates
+     */
+    public synchronized ArrayList<FreeWindow> findFreeWindows(Date startDate, Date endDate, int nights, int kennels) {
+        return findFreeWindows(startDate, endDate, nights, kennels, null);
+    }
+
+    /**
+     * Finds all periods in a date range with at least a number of free kennels for a kind of pet every night which
+     * are long enough for a stay of a number of nights. Every stay of that length inside one of the periods is possible.
+     *
+     * @param startDate the first night of the range
+     * @param endDate   the day after the last night of the range
+     * @param nights    the number of nights of the stay
+     * @param kennels   the number of kennels which have to be free
+     * @param className the class name of the pets, for example "Dog", or null for all kennels together
+     * @return the longest possible periods, in the order of their dates
+     */
+    public synchronized ArrayList<FreeWindow> findFreeWindows(Date startDate, Date endDate, int nights, int kennels, String className) {
+        return findFreeWindows(getKennels(className), startDate.toEpochDay(), endDate.toEpochDay(), nights, kennels, false);
+    }
+
+    /**
+     * Sweeps once over the sorted start and end days of the bookings and capacity changes in the range, keeping
+     * the number of taken kennels and the first night of the current run of nights with enough free kennels.
+     * Every start or end is one long number, the day in the upper half and the change of taken kennels in the lower
+     * half, so sorting the numbers sorts them by their days. The occupancy is the group of kennels searched, or
+     * null for all kennels together.
+     */
+    private ArrayList<FreeWindow> findFreeWindows(KennelOccupancy classOccupancy, int fromDay, int toDay, int nights, int kennels, boolean firstOnly) {
+        ArrayList<FreeWindow> windows = new ArrayList<FreeWindow>();
+        if (nights < 1 || (long) fromDay + nights > toDay) {
+            return windows;
+        }
+        int numberOfKennels = classOccupancy == null ? getNumberOfKennels() : classOccupancy.getCapacity();
+        int maxTaken = numberOfKennels - Math.max(kennels, 0);
+
+        long[] events = new long[2 * (bookings.size() + capacity.getChanges().size())];
+        int count = 0;
+        for (KennelBooking booking : bookings) {
+            if (classOccupancy == null || occupancyOfBooking.get(booking) == classOccupancy) {
+                count = addEvents(events, count, booking.getStartDate(), booking.getEndDate(), 1, fromDay, toDay);
+            }
+        }
+        for (KennelCapacity.Change change : capacity.getChanges()) {
+            if ((change.className() == null || capacity.hasOwnKennels(change.className()))
+                    && (classOccupancy == null || getOccupancy(change.className()) == classOccupancy)) {
+                count = addEvents(events, count, change.startDate(), change.endDate(), -change.difference(), fromDay, toDay);
+            }
+        }
+        Arrays.sort(events, 0, count);
+
+        int taken = 0;
+        int runStart = fromDay; // first night of the current run of nights with enough free kennels
+        int next = 0;
+        int day = fromDay;
+        while (day < toDay) {
+            // all events of this day, then the number of taken kennels stays the same until the next event
+            while (next < count && (int) (events[next] >> 32) == day) {
+                taken += (int) events[next];
+                next++;
+            }
+            int nextDay = next < count ? (int) (events[next] >> 32) : toDay;
+            if (taken > maxTaken) {
+                addWindow(windows, runStart, day, nights);
+                if (firstOnly && !windows.isEmpty()) {
+                    return windows;
+                }
+                runStart = nextDay;
+            } else if (firstOnly && (long) runStart + nights <= nextDay) {
+                addWindow(windows, runStart, runStart + nights, nights);
+                return windows;
+            }
+            day = nextDay;
+        }
+        addWindow(windows, runStart, toDay, nights);
+        return windows;
+    }
+
+    /**
+     * Adds the start and end of a range of nights, cut to the searched range, to the events of a sweep.
+     *
+     * @return the new number of events
+     */
+    private static int addEvents(long[] events, int count, Date startDate, Date endDate, int taken, int fromDay, int toDay) {
+        int start = Math.max(startDate.toEpochDay(), fromDay);
+        int end = Math.min(endDate.toEpochDay(), toDay);
+        if (start < end && taken != 0) {
+            events[count++] = ((long) start << 32) | (taken & 0xFFFFFFFFL);
+            events[count++] = ((long) end << 32) | (-taken & 0xFFFFFFFFL);
+        }
+        return count;
+    }
+
+    private static void addWindow(ArrayList<FreeWindow> windows, int startDay, int endDay, int nights) {
+        if ((long) startDay + nights <= endDay) {
+            windows.add(new FreeWindow(Date.ofEpochDay(startDay), Date.ofEpochDay(endDay)));
+        }
+    }
+
+    /**
+     * Checks if there is a free kennel on every night of the specified date range, counting all kennels together
+     * like getFreeSpaces does. A booking for a pet needs a free kennel of its own kind, see the method below.
      *
      * @param startDate the start date of the range
      * @param endDate   the end date of the range
@@ -134,15 +747,40 @@ public class BookingList implements Serializable {
      */
     public boolean isKennelFree(Date startDate, Date endDate)
     {
-        Date startDateCopy = startDate.copy(); //make a copy of startDate
-        while (!startDateCopy.equals(endDate)) //loop is checking every date between startDate and endDate
-        {
-            if (getFreeSpace(startDateCopy) == 0) //if during one of the days number of free spaces is 0 function return false
-            {
+        return isKennelFree(startDate, endDate, null);
+    }
+
+    /**
+     * Checks if one of the kennels for a kind of pet is free during the specified date range.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @param className the class name of the pets, for example "Dog", or null for all kennels together
+     * @return true if there is available space for all dates in the range, otherwise false
+     */
+    public synchronized boolean isKennelFree(Date startDate, Date endDate, String className)
+    {
+        if (className != null) {
+            return hasFreeKennel(getOccupancy(className), startDate, endDate);
+        }
+        for (int freeSpace : getFreeSpaces(startDate, Math.max(startDate.daysUntil(endDate), 0))) {
+            if (freeSpace < 1) {
                 return false;
             }
-            startDateCopy.addDay();
         }
-        return true; // method return true if there is a free space and the loop finishes without returning false
+        return true;
+    }
+
+    /**
+     * Checks if one of the shared kennels, used by the pets whose kind has no kennels of its own,
+     * is free during the specified date range.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @return true if there is available space for all dates in the range, otherwise false
+     */
+    public synchronized boolean isSharedKennelFree(Date startDate, Date endDate)
+    {
+        return hasFreeKennel(occupancy, startDate, endDate);
     }
 }
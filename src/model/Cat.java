@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Objects;
+
 public class Cat extends Pet
 /**
  * A class representing a cat, extending the Pet class.
@@ -7,6 +9,7 @@ public class Cat extends Pet
  * @version 1.0 - December 2024
  */
 {
+    private static final long serialVersionUID = 6702700136610325293L;
     // Private instance variables for cat
     private String breederName;//Name of the breeder.
     private String breed; //Name of the breed.
@@ -91,12 +94,13 @@ public class Cat extends Pet
                 "} " + super.toString();
     }
     /**
-     * Equals method inheriting from Pet class to compare if cats objects are the same.
-     * @param object Object to compare.
-     * @return True if the cats are the same, false if they're not.
+     * Compares all the data of two cats, but not their ids, inheriting from Pet class.
+     * @param object Pet to compare.
+     * @return True if the cats have the same data, false if they don't.
      */
 
-    public boolean equals(Object object)
+    @Override
+    public boolean hasSameData(Pet object)
     {
         // Check if the object is null or of a different class
         if (object==null || getClass() != object.getClass())
@@ -108,7 +112,7 @@ public class Cat extends Pet
  
         // compare instance variables for equality
 
-        return super.equals(newCat) && breed.equals(newCat.breed) && this.breederName.equals(newCat.getBreederName());
+        return super.hasSameData(newCat) && Objects.equals(breed, newCat.breed) && Objects.equals(this.breederName, newCat.getBreederName());
 
     }
 
@@ -1,6 +1,9 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * A class representing a customer.
@@ -11,7 +14,9 @@ import java.io.Serializable;
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0 - December 2024
  */
-public class Customer implements Serializable {
+public class Customer implements Serializable, Entity {
+  private static final long serialVersionUID = 764579495064523782L;
+  private long id; // Customer's id, which never changes
   private String name; // Customer's name
   private Address address; // Customer's address
   private String phoneNumber; // Customer's phone number
@@ -25,13 +30,40 @@ public class Customer implements Serializable {
    * @param phoneNumber the phone number of the customer
    */
   public Customer(String name, Address address, String phoneNumber) {
+    this.id = EntityIds.next();
     this.setAddress(address);
     this.setName(name);
     this.setPhoneNumber(phoneNumber);
   }
 
+  /**
+   * Reads the customer from a file, giving it a new id if it was saved before customers had ids.
+   *
+   * @param in the stream to read from
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    if (id == 0) {
+      id = EntityIds.next();
+    } else {
+      EntityIds.reserve(id);
+    }
+  }
+
   // GETTERS
 
+  /**
+   * Gets the id of the customer.
+   *
+   * @return the id
+   */
+  @Override
+  public long getId() {
+    return id;
+  }
+
   /**
    * Gets the name of the customer.
    *
@@ -80,6 +112,16 @@ public class Customer implements Serializable {
 
   // SETTERS
 
+  /**
+   * Sets the id of the customer, used when the customer is read from a file or takes the place of another customer.
+   *
+   * @param id the id
+   */
+  void setId(long id) {
+    EntityIds.reserve(id);
+    this.id = id;
+  }
+
   /**
    * Sets the name of the customer.
    *
@@ -125,23 +167,45 @@ public class Customer implements Serializable {
 
   /**
    * Compares this customer object with another object for equality.
-   * This method checks if all attributes (name, phone number, and address)
-   * of both customers are equal.
+   * Customers are equal when they have the same id, so a customer is still found after their data was changed.
    *
    * @param obj the object to compare with
    * @return true if the customers are equal, otherwise false
    */
   @Override
   public boolean equals(Object obj) {
-    // Check if the object is null or of a different class
-    if (obj == null || getClass() != obj.getClass()) {
+    if (this == obj) {
+      return true;
+    }
+    return obj instanceof Customer customer && id == customer.id;
+  }
+
+  /**
+   * Returns a hash code consistent with equals.
+   *
+   * @return the hash code of the id
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(id);
+  }
+
+  /**
+   * Compares all the data of two customers, but not their ids.
+   * This method checks if all attributes (name, phone number, and address)
+   * of both customers are equal. Used to find the same customer in files saved before customers had ids.
+   *
+   * @param customer the customer to compare with
+   * @return true if the customers have the same data, otherwise false
+   */
+  public boolean hasSameData(Customer customer) {
+    // Check if the object is null
+    if (customer == null) {
       return false;
     }
-    // makes a copy
-    Customer customer = (Customer) obj;
     // compare instance variables for equality
-    return this.getName().equals(customer.getName()) &&
-            this.getPhoneNumber().equals(customer.getPhoneNumber()) &&
-            this.getAddress().equals(customer.getAddress());
+    return Objects.equals(this.getName(), customer.getName()) &&
+            Objects.equals(this.getPhoneNumber(), customer.getPhoneNumber()) &&
+            Objects.equals(this.getAddress(), customer.getAddress());
   }
 }
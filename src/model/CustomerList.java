@@ -1,24 +1,37 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
 
 /**
  * A class representing a list of customers.
  * This class uses an ArrayList to store and manage customer objects.
  * It provides methods for adding, removing, retrieving, and editing customers in the list.
+ * The customers are indexed by name and phone number, so a customer in the list must be changed with editCustomer
+ * and not through its setters. Like the pet list, this list is locked before the sale and booking lists, whose
+ * references are updated by its listeners, so it must not be changed while holding the lock of one of them.
  *
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0 - December 2024
  */
-public class CustomerList implements Serializable {
+public class CustomerList extends ModelList<Customer> implements Serializable {
+  private static final long serialVersionUID = -8129347815836244047L;
   private ArrayList<Customer> customers; //ArrayList to store all sales
+  private transient HashMap<Long, Integer> positions; //index of every customer by its id, rebuilt after reading from a file
+  private transient HashMap<String, ArrayList<Customer>> byName; //customers by their exact name
+  private transient HashMap<String, ArrayList<Customer>> byFoldedName; //customers by their name in lower case
+  private transient HashMap<String, ArrayList<Customer>> byPhoneNumber; //customers by their phone number without spaces
 
   /**
    * Constructs an empty customer list.
    */
   public CustomerList() {
     customers = new ArrayList<Customer>();
+    rebuildPositions();
   }
 
   /**
@@ -28,6 +41,74 @@ public class CustomerList implements Serializable {
    */
   public CustomerList(ArrayList<Customer> customers) {
     this.customers = new ArrayList<Customer>(customers);
+    rebuildPositions();
+  }
+
+  /**
+   * Rebuilds the positions of the customers by their ids and the indexes by name and phone number
+   * from the list of customers.
+   */
+  private void rebuildPositions() {
+    positions = new HashMap<Long, Integer>();
+    byName = new HashMap<String, ArrayList<Customer>>();
+    byFoldedName = new HashMap<String, ArrayList<Customer>>();
+    byPhoneNumber = new HashMap<String, ArrayList<Customer>>();
+    for (int i = 0; i < customers.size(); i++) {
+      positions.put(customers.get(i).getId(), i);
+      indexCustomer(customers.get(i));
+    }
+  }
+
+  /**
+   * Adds a customer to the indexes by name and phone number.
+   *
+   * @param customer the customer to be added
+   */
+  private void indexCustomer(Customer customer) {
+    byName.computeIfAbsent(customer.getName(), key -> new ArrayList<Customer>(1)).add(customer);
+    byFoldedName.computeIfAbsent(foldName(customer.getName()), key -> new ArrayList<Customer>(1)).add(customer);
+    byPhoneNumber.computeIfAbsent(normalizePhoneNumber(customer.getPhoneNumber()), key -> new ArrayList<Customer>(1)).add(customer);
+  }
+
+  /**
+   * Removes a customer from the indexes by name and phone number.
+   *
+   * @param customer the customer to be removed
+   */
+  private void unindexCustomer(Customer customer) {
+    unindex(byName, customer.getName(), customer);
+    unindex(byFoldedName, foldName(customer.getName()), customer);
+    unindex(byPhoneNumber, normalizePhoneNumber(customer.getPhoneNumber()), customer);
+  }
+
+  private static void unindex(HashMap<String, ArrayList<Customer>> index, String key, Customer customer) {
+    ArrayList<Customer> customersWithKey = index.get(key);
+    if (customersWithKey != null) {
+      customersWithKey.removeIf(indexed -> indexed == customer);
+      if (customersWithKey.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  private static String foldName(String name) {
+    return name == null ? null : name.toLowerCase(Locale.ROOT);
+  }
+
+  private static String normalizePhoneNumber(String phoneNumber) {
+    return phoneNumber == null ? null : phoneNumber.replaceAll("[\\s()-]", "");
+  }
+
+  /**
+   * Reads the list from a file and rebuilds the positions of the customers, which are not saved.
+   *
+   * @param in the stream to read from
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    rebuildPositions();
   }
 
   /**
@@ -40,13 +121,14 @@ public class CustomerList implements Serializable {
   }
 
   /**
-   * Adds a customer to the list.
+   * Adds a customer to the list, unless there is already a customer with the same name.
    *
    * @param customer the customer to be added
+   * @return true if the customer was added, otherwise false
    */
-  public boolean addCustomer(Customer customer) {
-    if(getCustomerByName(customer.getName()) == null) {
-      customers.add(customer);
+  public synchronized boolean addCustomer(Customer customer) {
+    if(getIndex(customer) == -1 && !byName.containsKey(customer.getName())) {
+      addElement(customer);
       return true;
     }
     return false;
@@ -55,16 +137,47 @@ public class CustomerList implements Serializable {
    * Gets the customer from the list by name
    *
    * @param name
-   * @return customer
+   * @return customer, or null if there is no customer with the name
    */
-  public Customer getCustomerByName(String name)
+  public synchronized Customer getCustomerByName(String name)
   {
-    for(Customer customer : customers) {
-      if(customer.getName().equals(name)) {
-        return customer;
-      }
-    }
-    return null;
+    ArrayList<Customer> customersWithName = byName.get(name);
+    return customersWithName == null ? null : customersWithName.get(0);
+  }
+
+  /**
+   * Gets the customers whose name is the given name when upper and lower case letters are not told apart.
+   *
+   * @param name the name to look for
+   * @return a new ArrayList of the customers with the name
+   */
+  public synchronized ArrayList<Customer> getCustomersByNameIgnoreCase(String name)
+  {
+    ArrayList<Customer> customersWithName = byFoldedName.get(foldName(name));
+    return customersWithName == null ? new ArrayList<Customer>() : new ArrayList<Customer>(customersWithName);
+  }
+
+  /**
+   * Gets the customers with a phone number. Spaces, dashes and brackets in the phone number do not matter.
+   *
+   * @param phoneNumber the phone number to look for
+   * @return a new ArrayList of the customers with the phone number
+   */
+  public synchronized ArrayList<Customer> getCustomersByPhoneNumber(String phoneNumber)
+  {
+    ArrayList<Customer> customersWithPhoneNumber = byPhoneNumber.get(normalizePhoneNumber(phoneNumber));
+    return customersWithPhoneNumber == null ? new ArrayList<Customer>() : new ArrayList<Customer>(customersWithPhoneNumber);
+  }
+
+  /**
+   * Gets a customer by their id.
+   *
+   * @param id the id of the customer
+   * @return the customer with the id, or null if there is no such customer in the list
+   */
+  public synchronized Customer getCustomerById(long id) {
+    Integer index = positions.get(id);
+    return index == null ? null : customers.get(index);
   }
 
   /**
@@ -72,8 +185,11 @@ public class CustomerList implements Serializable {
    *
    * @param customer the customer to be removed
    */
-  public void removeCustomer(Customer customer) {
-    customers.remove(customer);
+  public synchronized void removeCustomer(Customer customer) {
+    int index = getIndex(customer);
+    if (index != -1) {
+      removeElement(index);
+    }
   }
 
   /**
@@ -82,23 +198,62 @@ public class CustomerList implements Serializable {
    * @param customer the customer whose index is to be retrieved
    * @return the index of the customer in the list, or "-1" if not found
    */
-  public int getIndex(Customer customer) {
-    return customers.indexOf(customer);
+  public synchronized int getIndex(Customer customer) {
+    Integer index = positions.get(customer.getId());
+    return index == null ? -1 : index;
   }
 
   /**
-   * Edits an existing customer by replacing it with a new customer.
+   * Edits an existing customer by replacing it with a new customer, which takes over the id of the old one,
+   * so the sales and bookings of the customer show the new customer.
+   * The edit fails if another customer already has the new name.
    *
    * @param customerToEdit      the customer to be edited
    * @param customerToChangeTo  the new customer to replace the old one
+   * @return true if the customer was edited, otherwise false
    */
-  public boolean editCustomer(Customer customerToEdit, Customer customerToChangeTo) {
-    CustomerList listCopy = new CustomerList(this.customers);
-    listCopy.removeCustomer(customerToEdit);
-    if(listCopy.getCustomerByName(customerToChangeTo.getName()) == null) {
-      customers.set(this.getIndex(customerToEdit), customerToChangeTo);
+  public synchronized boolean editCustomer(Customer customerToEdit, Customer customerToChangeTo) {
+    ArrayList<Customer> customersWithName = byName.get(customerToChangeTo.getName());
+    if(customersWithName == null || (customersWithName.size() == 1 && customersWithName.get(0).equals(customerToEdit))) {
+      int index = this.getIndex(customerToEdit);
+      customerToChangeTo.setId(customerToEdit.getId());
+      setElement(index, customerToChangeTo);
       return true;
     }
     return false;
   }
+
+  @Override
+  Customer getElement(int index) {
+    return customers.get(index);
+  }
+
+  @Override
+  synchronized void addElement(Customer customer) {
+    customers.add(customer);
+    positions.put(customer.getId(), customers.size() - 1);
+    indexCustomer(customer);
+    fireElementAdded(customers.size() - 1, customer);
+  }
+
+  @Override
+  synchronized void setElement(int index, Customer customer) {
+    Customer oldCustomer = customers.set(index, customer);
+    positions.remove(oldCustomer.getId());
+    positions.put(customer.getId(), index);
+    unindexCustomer(oldCustomer);
+    indexCustomer(customer);
+    fireElementChanged(index, oldCustomer, customer);
+  }
+
+  @Override
+  synchronized void removeElement(int index) {
+    Customer customer = customers.remove(index);
+    positions.remove(customer.getId());
+    unindexCustomer(customer);
+    for (int i = index; i < customers.size(); i++) {
+      positions.put(customers.get(i).getId(), i);
+    }
+    fireElementRemoved(index, customer);
+  }
 }
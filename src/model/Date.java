@@ -1,19 +1,24 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDate;
 
 /**
  * A class representing a date with day, month, and year attributes.
  * This class includes functionality for creating, copying, comparing,
- * and manipulating dates.
+ * and manipulating dates. The number of days since 1.1.1970 is kept next to
+ * the day, month and year, so comparing dates and counting days needs no loops.
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0 - December 2024
  */
-public class Date implements Serializable {
+public class Date implements Serializable, Comparable<Date> {
+  private static final long serialVersionUID = -6730209556929471669L;
   private int day;   // Day of the month
   private int month; // Month of the year
   private int year;  // Year
+  private transient int epochDay; // Days since 1.1.1970, not saved but calculated again after reading
 
   /**
    * 3 argument Constructor for creating date objects.
@@ -63,6 +68,7 @@ public class Date implements Serializable {
    */
   public void setDay(int day) {
     this.day = day;
+    this.epochDay = epochDayOf(this.day, this.month, this.year);
   }
 
   /**
@@ -72,6 +78,7 @@ public class Date implements Serializable {
    */
   public void setMonth(int month) {
     this.month = month;
+    this.epochDay = epochDayOf(this.day, this.month, this.year);
   }
 
   /**
@@ -81,6 +88,19 @@ public class Date implements Serializable {
    */
   public void setYear(int year) {
     this.year = year;
+    this.epochDay = epochDayOf(this.day, this.month, this.year);
+  }
+
+  /**
+   * Creates a Date object from the number of days since 1.1.1970.
+   *
+   * @param epochDay the number of days since 1.1.1970
+   * @return a new Date object for that day
+   */
+  public static Date ofEpochDay(int epochDay) {
+    Date date = new Date(1, 1, 1970);
+    date.setEpochDay(epochDay);
+    return date;
   }
 
   /**
@@ -110,6 +130,27 @@ public class Date implements Serializable {
             this.getYear() == date.getYear();
   }
 
+  /**
+   * Override hashCode method so that equal dates have equal hash codes.
+   *
+   * @return the hash code of the date
+   */
+  @Override
+  public int hashCode() {
+    return epochDay;
+  }
+
+  /**
+   * Compares this date with another date in calendar order.
+   *
+   * @param date the date to compare with
+   * @return a negative number, zero or a positive number if this date is before, the same as or after the other date
+   */
+  @Override
+  public int compareTo(Date date) {
+    return Integer.compare(this.epochDay, date.epochDay);
+  }
+
   /**
    * Creates a Date object representing the current date.
    *
@@ -131,32 +172,51 @@ public class Date implements Serializable {
 
   /**
    * Adds one day to this Date object.
-   * The method handles month and year transitions correctly using LocalDate.
+   * The method handles month and year transitions correctly.
    */
   public void addDay() {
-    LocalDate currentLocalDate = LocalDate.of(year, month, day);
-    currentLocalDate = currentLocalDate.plusDays(1);
-    this.day = currentLocalDate.getDayOfMonth();
-    this.month = currentLocalDate.getMonthValue();
-    this.year = currentLocalDate.getYear();
+    addDays(1);
   }
 
   /**
-   * Checks if this Date is between two other dates, inclusive.
+   * Adds a number of days to this Date object.
+   * The method handles month and year transitions correctly, a negative number goes back in time.
+   *
+   * @param days the number of days to add
+   */
+  public void addDays(int days) {
+    setEpochDay(epochDay + days);
+  }
+
+  /**
+   * Gets the number of days from this date to another date.
+   *
+   * @param date the other date
+   * @return the number of days, negative if the other date is before this date
+   */
+  public int daysUntil(Date date) {
+    return date.epochDay - this.epochDay;
+  }
+
+  /**
+   * Gets the number of days between 1.1.1970 and this date.
+   *
+   * @return the epoch day of this date
+   */
+  public int toEpochDay() {
+    return epochDay;
+  }
+
+  /**
+   * Checks if this Date is between two other dates, counting the start date but not the end date,
+   * like the nights of a kennel booking.
    *
    * @param startDate the start date of the range
    * @param endDate   the end date of the range
    * @return true if this date is between startDate and  endDate, otherwise  false
    */
   public boolean isDateBetween(Date startDate, Date endDate) {
-    Date startDateCopy = startDate.copy();
-    while (!startDateCopy.equals(endDate)) {
-      if (this.equals(startDateCopy)) {
-        return true;
-      }
-      startDateCopy.addDay();
-    }
-    return false;
+    return startDate.epochDay <= this.epochDay && this.epochDay < endDate.epochDay;
   }
   /**
    * Determines if this Date occurs before another date.
@@ -166,23 +226,55 @@ public class Date implements Serializable {
    */
   public boolean isBefore (Date date2)
   {
-    if (this.year < date2.year)
-    {
-      return true;
-    }
-    if (this.year == date2.year)
-    {
-      if (this.month < date2.month)
-      {
-        return true;
-      }
-      else if (this.month == date2.month)
-      {
-          return this.day < date2.day;
-      }
-    }
-    return false;
+    return this.epochDay < date2.epochDay;
   }
 
+  /**
+   * Sets this date to the day which is a number of days after 1.1.1970.
+   *
+   * @param epochDay the number of days since 1.1.1970
+   */
+  private void setEpochDay(int epochDay) {
+    // the calendar calculation from days to a date, shifted so the year starts in March
+    int shiftedDay = epochDay + 719468;
+    int era = (shiftedDay >= 0 ? shiftedDay : shiftedDay - 146096) / 146097;
+    int dayOfEra = shiftedDay - era * 146097;
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int shiftedMonth = (5 * dayOfYear + 2) / 153;
+    this.day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    this.month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+    this.year = yearOfEra + era * 400 + (this.month <= 2 ? 1 : 0);
+    this.epochDay = epochDay;
+  }
 
+  /**
+   * Calculates the number of days between 1.1.1970 and a date.
+   *
+   * @param day   the day of the month
+   * @param month the month of the year
+   * @param year  the year
+   * @return the number of days since 1.1.1970
+   */
+  private static int epochDayOf(int day, int month, int year) {
+    // the calendar calculation from a date to days, shifted so the year starts in March
+    int shiftedYear = month <= 2 ? year - 1 : year;
+    int era = (shiftedYear >= 0 ? shiftedYear : shiftedYear - 399) / 400;
+    int yearOfEra = shiftedYear - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+
+  /**
+   * Reads the date from a file and calculates the number of days since 1.1.1970, which is not saved.
+   *
+   * @param in the stream to read from
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    this.epochDay = epochDayOf(day, month, year);
+  }
 }
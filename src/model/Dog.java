@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Objects;
+
 
 /**
  * A class representing a dog, extending the Pet class.
@@ -10,6 +12,7 @@ package model;
 
 
 public class Dog extends Pet {
+    private static final long serialVersionUID = 8666277845138511341L;
     // Private instance variables for dog
     private String breederName; //Name of the breeder.
     private String breed; //Name of the breed.
@@ -110,12 +113,13 @@ public class Dog extends Pet {
 
 
     /**
-     * Equals method inheriting from Pet class to compare if dogs objects are the same.
-     * @param object Object to compare.
-     * @return True if the dogs are the same, false if they're not.
+     * Compares all the data of two dogs, but not their ids, inheriting from Pet class.
+     * @param object Pet to compare.
+     * @return True if the dogs have the same data, false if they don't.
      */
 
-    public boolean equals(Object object)
+    @Override
+    public boolean hasSameData(Pet object)
     {
         // Check if the object is null or of a different class
         if (object==null || getClass() != object.getClass())
@@ -125,7 +129,7 @@ public class Dog extends Pet {
         // makes a copy
         Dog newDog = (Dog) object;
         // compare instance variables for equality
-        return super.equals(newDog) && breed.equals(newDog.breed) && this.breederName.equals(newDog.getBreederName());
+        return super.hasSameData(newDog) && Objects.equals(breed, newDog.breed) && Objects.equals(this.breederName, newDog.getBreederName());
 
     }
 
@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * An interface for the objects of the model which have a stable id.
+ * Two entities are equal when they have the same id, even if some of their data was changed,
+ * so lists can find an entity with a hash lookup instead of comparing all its data.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public interface Entity {
+
+    /**
+     * Gets the id of the entity, which never changes and is saved with it.
+     *
+     * @return the id
+     */
+    long getId();
+}
@@ -0,0 +1,35 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A class which gives out the ids of the entities.
+ * Ids start from the current time in microseconds, so the ids of a new run of the application are always higher than
+ * the ids saved by earlier runs, even while the saved files are still being read. Every id read from a file is also
+ * reserved, so an id is never given out twice if the clock of the computer was turned back.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class EntityIds {
+    private static final AtomicLong lastId = new AtomicLong(); // the highest id given out or read
+    private static final long firstId = System.currentTimeMillis() * 1000; // no id given out by this run is lower
+
+    /**
+     * Gives out a new id.
+     *
+     * @return the new id
+     */
+    public static long next() {
+        return lastId.updateAndGet(last -> Math.max(last + 1, firstId));
+    }
+
+    /**
+     * Makes sure an id read from a file is never given out again.
+     *
+     * @param id the id read from a file
+     */
+    public static void reserve(long id) {
+        lastId.accumulateAndGet(id, Math::max);
+    }
+}
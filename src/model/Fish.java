@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Objects;
+
 /**
  * A class representing a Fish, extending the Pet class.
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
@@ -8,6 +10,7 @@ package model;
 
 public class Fish extends Pet
 {
+    private static final long serialVersionUID = -6350511208321316438L;
     // Private instance variables for fish
     private boolean isPredator; //Is the fish a predator.
     private String habitat;// Name of the habitat the fish live in.
@@ -133,11 +136,12 @@ public class Fish extends Pet
     }
 
     /**
-     * Equals method inheriting from Pet class to compare if fishes objects are the same.
-     * @param object Object to compare.
-     * @return True if the rodents are the same, false if they're not.
+     * Compares all the data of two fish, but not their ids, inheriting from Pet class.
+     * @param object Pet to compare.
+     * @return True if the fish have the same data, false if they don't.
      */
-    public boolean equals(Object object)
+    @Override
+    public boolean hasSameData(Pet object)
     {
         // Check if the object is null or of a different class
         if (object==null || getClass() != object.getClass())
@@ -147,7 +151,7 @@ public class Fish extends Pet
         // makes a copy
         Fish newFish = (Fish) object;
         // compare instance variables for equality
-        return super.equals(newFish) && isPredator == newFish.isPredator && this.species.equals(newFish.species) && this.habitat.equals(newFish.habitat);
+        return super.hasSameData(newFish) && isPredator == newFish.isPredator && Objects.equals(this.species, newFish.species) && Objects.equals(this.habitat, newFish.habitat);
     }
 }
 
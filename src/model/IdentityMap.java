@@ -0,0 +1,61 @@
+package model;
+
+import java.util.HashMap;
+
+/**
+ * A class which keeps one object for every id, so all sales and bookings of a pet or a customer
+ * share the same object instead of each holding their own copy.
+ *
+ * @param <T> the type of the entities
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class IdentityMap<T extends Entity> {
+    private final HashMap<Long, T> entities; // the one object kept for every id
+
+    /**
+     * Constructs an empty identity map.
+     */
+    public IdentityMap() {
+        this.entities = new HashMap<Long, T>();
+    }
+
+    /**
+     * Gets the object kept for an id.
+     *
+     * @param id the id of the entity
+     * @return the entity, or null if there is no entity with the id
+     */
+    public T get(long id) {
+        return entities.get(id);
+    }
+
+    /**
+     * Makes an entity the object kept for its id, replacing any other object with the same id.
+     *
+     * @param entity the entity to be kept
+     */
+    public void put(T entity) {
+        entities.put(entity.getId(), entity);
+    }
+
+    /**
+     * Gets the object kept for the id of an entity, keeping the entity itself if there is none yet.
+     *
+     * @param entity the entity
+     * @return the object kept for the id of the entity
+     */
+    public T intern(T entity) {
+        T known = entities.putIfAbsent(entity.getId(), entity);
+        return known == null ? entity : known;
+    }
+
+    /**
+     * Gets the number of entities in the map.
+     *
+     * @return the number of entities
+     */
+    public int size() {
+        return entities.size();
+    }
+}
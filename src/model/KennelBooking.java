@@ -1,5 +1,7 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
@@ -11,9 +13,11 @@ import java.io.Serializable;
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0 - December 2024
  */
-public class KennelBooking implements Serializable {
-    private Customer customer; // The customer making the booking
-    private Pet pet; // The pet being booked into the kennel
+public class KennelBooking implements Serializable, Entity {
+    private static final long serialVersionUID = -3083112187279942822L;
+    private long id; // The id of the booking, which never changes
+    private Customer customer; // The customer making the booking, shared with the customer list
+    private Pet pet; // The pet being booked into the kennel, shared with the pet list
     private Date startDate; // The start date of the booking
     private Date endDate; // The end date of the booking
     private double price; // The price of the booking
@@ -29,6 +33,7 @@ public class KennelBooking implements Serializable {
      * @param price     the price of the booking
      */
     public KennelBooking(Customer customer, Pet pet, Date startDate, Date endDate, double price) {
+        this.id = EntityIds.next();
         this.setCustomer(customer);
         this.setPet(pet);
         this.setStartDate(startDate);
@@ -36,8 +41,34 @@ public class KennelBooking implements Serializable {
         this.setPrice(price);
     }
 
+    /**
+     * Reads the booking from a file, giving it a new id if it was saved before bookings had ids.
+     *
+     * @param in the stream to read from
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (id == 0) {
+            id = EntityIds.next();
+        } else {
+            EntityIds.reserve(id);
+        }
+    }
+
     // GETTERS
 
+    /**
+     * Gets the id of the booking.
+     *
+     * @return the id
+     */
+    @Override
+    public long getId() {
+        return id;
+    }
+
     /**
      * Gets the customer making the booking.
      *
@@ -112,6 +143,16 @@ public class KennelBooking implements Serializable {
 
     // SETTERS
 
+    /**
+     * Sets the id of the booking, used when the booking is read from a file or takes the place of another booking.
+     *
+     * @param id the id
+     */
+    void setId(long id) {
+        EntityIds.reserve(id);
+        this.id = id;
+    }
+
     /**
      * Sets the customer making the booking.
      *
@@ -174,25 +215,26 @@ public class KennelBooking implements Serializable {
 
     /**
      * Override equals method which compares this KennelBooking object with another object for equality.
-     * This method checks if all attributes (customer, pet, price, start date, and end date)
-     * of both bookings are equal.
+     * Bookings are equal when they have the same id.
      *
      * @param obj the object to compare with
      * @return true if the bookings are equal, otherwise false
      */
     @Override
     public boolean equals(Object obj) {
-        if (obj == null || obj.getClass() != this.getClass()) {
-            return false;
-            // Check if the object is null or of a different class
+        if (this == obj) {
+            return true;
         }
-        // makes a copy
-        KennelBooking kennelBookingCompare = (KennelBooking) obj;
-        // compare instance variables for equality
-        return kennelBookingCompare.getCustomer().equals(getCustomer()) &&
-                kennelBookingCompare.getPet().equals(getPet()) &&
-                kennelBookingCompare.getPrice() == getPrice() &&
-                kennelBookingCompare.getEndDate().equals(getEndDate()) &&
-                kennelBookingCompare.getStartDate().equals(getStartDate());
+        return obj instanceof KennelBooking booking && id == booking.id;
+    }
+
+    /**
+     * Returns a hash code consistent with equals.
+     *
+     * @return the hash code of the id
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
     }
 }
@@ -0,0 +1,157 @@
+package model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Set;
+
+/**
+ * A class representing how many kennels there are for every kind of pet.
+ * A kind of pet, like "Dog" or "Cat", can have its own kennels, for example dog runs or cat rooms;
+ * the pets of all other kinds share the remaining kennels. The number of kennels can also change for a
+ * range of dates, for example when dog runs are renovated or more cat rooms are opened for the summer.
+ * <p>
+ * The capacity can only be changed through the model so far, with BookingList.setCapacity followed by
+ * VIAPetsModelManager.updateCapacityFile; the windows do not show it. Without a saved capacity, all pets share
+ * the default kennels.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class KennelCapacity implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int sharedKennels; // kennels for the pets whose kind has no kennels of its own
+    private LinkedHashMap<String, Integer> kennelsByClass; // own kennels of a kind of pet, by its class name
+    private ArrayList<Change> changes; // changes of the number of kennels during a range of dates
+
+    /**
+     * A change of the number of kennels during a range of dates.
+     *
+     * @param className  the class name of the pets whose own kennels change, or null for the shared kennels
+     * @param startDate  the first night of the change
+     * @param endDate    the day after the last night of the change
+     * @param difference the number of kennels added, negative when kennels are closed
+     */
+    public record Change(String className, Date startDate, Date endDate, int difference) implements Serializable {
+    }
+
+    /**
+     * Constructs a capacity where all pets share the same kennels.
+     *
+     * @param sharedKennels the number of kennels
+     */
+    public KennelCapacity(int sharedKennels) {
+        this.sharedKennels = sharedKennels;
+        this.kennelsByClass = new LinkedHashMap<String, Integer>();
+        this.changes = new ArrayList<Change>();
+    }
+
+    /**
+     * Gets the number of kennels shared by the pets whose kind has no kennels of its own.
+     *
+     * @return the number of shared kennels
+     */
+    public int getSharedKennels() {
+        return sharedKennels;
+    }
+
+    /**
+     * Sets the number of kennels shared by the pets whose kind has no kennels of its own.
+     *
+     * @param sharedKennels the number of shared kennels
+     */
+    public void setSharedKennels(int sharedKennels) {
+        this.sharedKennels = sharedKennels;
+    }
+
+    /**
+     * Gives a kind of pet its own kennels, or changes their number.
+     *
+     * @param className the class name of the pets, for example "Dog"
+     * @param kennels   the number of kennels
+     */
+    public void setKennels(String className, int kennels) {
+        kennelsByClass.put(className, kennels);
+    }
+
+    /**
+     * Makes a kind of pet use the shared kennels again. The changes of its own kennels are removed.
+     *
+     * @param className the class name of the pets
+     */
+    public void removeKennels(String className) {
+        kennelsByClass.remove(className);
+        changes.removeIf(change -> className.equals(change.className()));
+    }
+
+    /**
+     * Checks if a kind of pet has its own kennels.
+     *
+     * @param className the class name of the pets, or null
+     * @return true if the pets have their own kennels, false if they use the shared kennels
+     */
+    public boolean hasOwnKennels(String className) {
+        return className != null && kennelsByClass.containsKey(className);
+    }
+
+    /**
+     * Gets the number of kennels for a kind of pet, without the changes.
+     *
+     * @param className the class name of the pets, or null for the shared kennels
+     * @return the number of own kennels, or the number of shared kennels if the pets have no own kennels
+     */
+    public int getKennels(String className) {
+        return hasOwnKennels(className) ? kennelsByClass.get(className) : sharedKennels;
+    }
+
+    /**
+     * Gets the class names of the kinds of pets with their own kennels.
+     *
+     * @return the class names
+     */
+    public Set<String> getClassNames() {
+        return kennelsByClass.keySet();
+    }
+
+    /**
+     * Changes the number of kennels for a range of dates.
+     *
+     * @param className  the class name of the pets whose own kennels change, or null for the shared kennels
+     * @param startDate  the first night of the change
+     * @param endDate    the day after the last night of the change
+     * @param difference the number of kennels added, negative when kennels are closed
+     */
+    public void addChange(String className, Date startDate, Date endDate, int difference) {
+        changes.add(new Change(className, startDate.copy(), endDate.copy(), difference));
+    }
+
+    /**
+     * Removes a change of the number of kennels.
+     *
+     * @param change the change to be removed
+     */
+    public void removeChange(Change change) {
+        changes.remove(change);
+    }
+
+    /**
+     * Gets all changes of the number of kennels.
+     *
+     * @return an ArrayList of the changes
+     */
+    public ArrayList<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Creates a copy of this capacity.
+     *
+     * @return a new KennelCapacity object with the same kennels and changes
+     */
+    public KennelCapacity copy() {
+        KennelCapacity copy = new KennelCapacity(sharedKennels);
+        copy.kennelsByClass.putAll(kennelsByClass);
+        copy.changes.addAll(changes);
+        return copy;
+    }
+}
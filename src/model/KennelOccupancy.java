@@ -0,0 +1,200 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A class representing how many kennels are taken on every day.
+ * The counters are kept in a segment tree over epoch days, stored in primitive arrays, which
+ * supports adding a booking to a range of nights and asking for the fullest night of a range
+ * in logarithmic time. Parts of the calendar without any bookings take no memory.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class KennelOccupancy {
+    private static final int FIRST_DAY = -(1 << 17); // first epoch day covered, in the year 1611
+    private static final int NUMBER_OF_DAYS = 1 << 18; // number of covered days, up to the year 2327
+    private int capacity; // number of all kennels
+    private int[] left; // left child of every node, 0 when there is none
+    private int[] right; // right child of every node, 0 when there is none
+    private int[] max; // highest occupancy in the range of every node
+    private int[] added; // occupancy added to the whole range of every node
+    private int numberOfNodes; // node 0 is an empty placeholder and node 1 is the root
+
+    /**
+     * Constructs an occupancy with no taken kennels.
+     *
+     * @param capacity the number of all kennels
+     */
+    public KennelOccupancy(int capacity) {
+        this.setCapacity(capacity);
+        clear();
+    }
+
+    /**
+     * Gets the number of all kennels.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the number of all kennels.
+     *
+     * @param capacity the new capacity
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Frees all kennels on all days.
+     */
+    public void clear() {
+        left = new int[64];
+        right = new int[64];
+        max = new int[64];
+        added = new int[64];
+        numberOfNodes = 2;
+    }
+
+    /**
+     * Adds an amount of taken kennels to every night in the range [startDay, endDay).
+     * A negative amount frees the kennels again.
+     *
+     * @param startDay the first night as an epoch day
+     * @param endDay   the day after the last night as an epoch day
+     * @param amount   the number of kennels to take
+     */
+    public void add(int startDay, int endDay, int amount) {
+        startDay = clamp(startDay);
+        endDay = clamp(endDay);
+        if (startDay < endDay) {
+            add(1, FIRST_DAY, FIRST_DAY + NUMBER_OF_DAYS, startDay, endDay, amount);
+        }
+    }
+
+    /**
+     * Gets the number of taken kennels during one night.
+     *
+     * @param day the night as an epoch day
+     * @return the number of taken kennels
+     */
+    public int getTaken(int day) {
+        return getMaxTaken(day, day + 1);
+    }
+
+    /**
+     * Gets the highest number of taken kennels during one night in the range [startDay, endDay).
+     *
+     * @param startDay the first night as an epoch day
+     * @param endDay   the day after the last night as an epoch day
+     * @return the highest number of taken kennels, or 0 for an empty range
+     */
+    public int getMaxTaken(int startDay, int endDay) {
+        startDay = clamp(startDay);
+        endDay = clamp(endDay);
+        if (startDay >= endDay) {
+            return 0;
+        }
+        return getMaxTaken(1, FIRST_DAY, FIRST_DAY + NUMBER_OF_DAYS, startDay, endDay);
+    }
+
+    /**
+     * Gets the number of free kennels for every night in the range [startDay, startDay + numberOfDays),
+     * reading the whole range in one walk through the tree.
+     *
+     * @param startDay     the first night as an epoch day
+     * @param numberOfDays the number of nights
+     * @return an array with the number of free kennels for every night
+     */
+    public int[] getFree(int startDay, int numberOfDays) {
+        int[] free = new int[numberOfDays];
+        int from = clamp(startDay);
+        int to = clamp(startDay + numberOfDays);
+        if (from < to) {
+            collectTaken(1, FIRST_DAY, FIRST_DAY + NUMBER_OF_DAYS, from, to, 0, free, startDay);
+        }
+        for (int i = 0; i < numberOfDays; i++) {
+            free[i] = capacity - free[i];
+        }
+        return free;
+    }
+
+    private void add(int node, int from, int to, int startDay, int endDay, int amount) {
+        if (startDay <= from && to <= endDay) {
+            added[node] += amount;
+            max[node] += amount;
+            return;
+        }
+        int middle = from + (to - from) / 2;
+        if (startDay < middle) {
+            if (left[node] == 0) {
+                int child = newNode();
+                left[node] = child;
+            }
+            add(left[node], from, middle, startDay, endDay, amount);
+        }
+        if (endDay > middle) {
+            if (right[node] == 0) {
+                int child = newNode();
+                right[node] = child;
+            }
+            add(right[node], middle, to, startDay, endDay, amount);
+        }
+        max[node] = added[node] + Math.max(max[left[node]], max[right[node]]);
+    }
+
+    private int getMaxTaken(int node, int from, int to, int startDay, int endDay) {
+        if (node == 0 || (startDay <= from && to <= endDay)) {
+            return max[node];
+        }
+        int middle = from + (to - from) / 2;
+        int result = Integer.MIN_VALUE;
+        if (startDay < middle) {
+            result = Math.max(result, getMaxTaken(left[node], from, middle, startDay, endDay));
+        }
+        if (endDay > middle) {
+            result = Math.max(result, getMaxTaken(right[node], middle, to, startDay, endDay));
+        }
+        return added[node] + result;
+    }
+
+    private void collectTaken(int node, int from, int to, int startDay, int endDay, int carried, int[] taken, int offset) {
+        if (node == 0) {
+            // nothing below this node, so every night has only what was added above it
+            for (int day = Math.max(from, startDay); day < Math.min(to, endDay); day++) {
+                taken[day - offset] = carried;
+            }
+            return;
+        }
+        carried += added[node];
+        if (to - from == 1) {
+            taken[from - offset] = carried;
+            return;
+        }
+        int middle = from + (to - from) / 2;
+        if (startDay < middle) {
+            collectTaken(left[node], from, middle, startDay, endDay, carried, taken, offset);
+        }
+        if (endDay > middle) {
+            collectTaken(right[node], middle, to, startDay, endDay, carried, taken, offset);
+        }
+    }
+
+    private int newNode() {
+        if (numberOfNodes == left.length) {
+            left = Arrays.copyOf(left, numberOfNodes * 2);
+            right = Arrays.copyOf(right, numberOfNodes * 2);
+            max = Arrays.copyOf(max, numberOfNodes * 2);
+            added = Arrays.copyOf(added, numberOfNodes * 2);
+        }
+        return numberOfNodes++;
+    }
+
+    private static int clamp(int day) {
+        return Math.max(FIRST_DAY, Math.min(FIRST_DAY + NUMBER_OF_DAYS, day));
+    }
+}
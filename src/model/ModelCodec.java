@@ -0,0 +1,731 @@
+package model;
+
+import utils.FileManager;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A class which writes the model lists in a compact binary format of its own, instead of Java serialization.
+ * <p>
+ * A file starts with the magic number "VIAP", the version of the format and the kind of list. Then come the
+ * modification count of the list, a table of all strings in the file, a table of the customers and a table of the
+ * pets, and at last the elements of the list. Strings, customers and pets are written once and referenced by their
+ * number in the table everywhere else, so a customer with many bookings is saved only once. Every customer, pet,
+ * sale and booking is saved with its id. Numbers are written as varints, which take one byte for small values.
+ * <p>
+ * Files written with Java serialization can still be read, so the old .bin files are converted the next time
+ * they are saved. For this the serialized classes keep the serialVersionUID they had in those files. The records of the journal use the same tables for single elements, and the file of the kennel
+ * capacity uses the same header and string table.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class ModelCodec {
+    public static final int MAGIC = 0x56494150; // "VIAP"
+    public static final byte VERSION = 2; // version 2 added the ids of the entities
+    private static final short SERIALIZATION_MAGIC = (short) 0xACED; // the start of a Java serialization stream
+
+    static final byte PETS = 0; // the kinds of lists, also used by the journal
+    static final byte SALES = 1;
+    static final byte BOOKINGS = 2;
+    static final byte CUSTOMERS = 3;
+    static final byte CAPACITY = 4; // the kennels for every kind of pet, in a file of their own
+
+    private static final int DOG = 0;
+    private static final int CAT = 1;
+    private static final int BIRD = 2;
+    private static final int FISH = 3;
+    private static final int RODENT = 4;
+
+    private static final int TYPE_FLAG = 1; // the pet is for sale
+    private static final int AVAILABLE_FLAG = 2; // the pet is available
+    private static final int SPECIES_FLAG = 4; // a fish is a predator, a rodent bites
+
+    /**
+     * Writes a model list in the binary format.
+     * The list must not change while it is written.
+     *
+     * @param list a PetList, SaleList, BookingList or CustomerList
+     * @return a buffer holding the written list, ready to be read
+     */
+    public static ByteBuffer encode(ModelList<?> list) {
+        Writer writer = new Writer();
+        Output elements = new Output();
+        byte kind;
+        if (list instanceof PetList petList) {
+            kind = PETS;
+            ArrayList<Pet> pets = petList.getAllPets();
+            elements.putVarInt(pets.size());
+            for (Pet pet : pets) {
+                elements.putVarInt(writer.petRef(pet));
+            }
+        } else if (list instanceof SaleList saleList) {
+            kind = SALES;
+            ArrayList<Sale> sales = saleList.getSales();
+            elements.putVarInt(sales.size());
+            for (Sale sale : sales) {
+                elements.putVarLong(sale.getId());
+                elements.putVarInt(writer.customerRef(sale.getCustomer()));
+                elements.putVarInt(writer.petRef(sale.getPet()));
+                elements.putDouble(sale.getPrice());
+                putDate(elements, sale.getDate());
+            }
+        } else if (list instanceof BookingList bookingList) {
+            kind = BOOKINGS;
+            ArrayList<KennelBooking> bookings = bookingList.getBookings();
+            elements.putVarInt(bookings.size());
+            for (KennelBooking booking : bookings) {
+                elements.putVarLong(booking.getId());
+                elements.putVarInt(writer.customerRef(booking.getCustomer()));
+                elements.putVarInt(writer.petRef(booking.getPet()));
+                putDate(elements, booking.getStartDate());
+                putDate(elements, booking.getEndDate());
+                elements.putDouble(booking.getPrice());
+            }
+        } else if (list instanceof CustomerList customerList) {
+            kind = CUSTOMERS;
+            ArrayList<Customer> customers = customerList.getCustomers();
+            elements.putVarInt(customers.size());
+            for (Customer customer : customers) {
+                elements.putVarInt(writer.customerRef(customer));
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown list: " + list.getClass().getName());
+        }
+
+        Output file = new Output();
+        file.putInt(MAGIC);
+        file.putByte(VERSION);
+        file.putByte(kind);
+        file.putVarLong(list.getModificationCount());
+        putTables(file, writer);
+        file.putBytes(elements);
+        return file.toBuffer();
+    }
+
+    /**
+     * Writes the number of kennels for every kind of pet in the binary format.
+     *
+     * @param capacity the capacity
+     * @return a buffer holding the written capacity, ready to be read
+     */
+    public static ByteBuffer encode(KennelCapacity capacity) {
+        Writer writer = new Writer();
+        Output kennels = new Output();
+        kennels.putVarLong(zigZag(capacity.getSharedKennels()));
+        kennels.putVarInt(capacity.getClassNames().size());
+        for (String className : capacity.getClassNames()) {
+            kennels.putVarInt(writer.stringRef(className));
+            kennels.putVarLong(zigZag(capacity.getKennels(className)));
+        }
+        kennels.putVarInt(capacity.getChanges().size());
+        for (KennelCapacity.Change change : capacity.getChanges()) {
+            kennels.putVarInt(writer.stringRef(change.className()));
+            putDate(kennels, change.startDate());
+            putDate(kennels, change.endDate());
+            kennels.putVarLong(zigZag(change.difference()));
+        }
+
+        Output file = new Output();
+        file.putInt(MAGIC);
+        file.putByte(VERSION);
+        file.putByte(CAPACITY);
+        file.putVarLong(0); // the capacity has no modification count
+        putTables(file, writer);
+        file.putBytes(kennels);
+        return file.toBuffer();
+    }
+
+    /**
+     * Writes one element of a model list for a record of the journal.
+     * Sales and bookings refer to their pet and customer by id. The data of a pet or a customer is written
+     * only the first time the journal file needs it, and again whenever the pet or customer itself changes,
+     * so a record never holds more than the element and the pets and customers the journal does not know yet.
+     *
+     * @param element          a Pet, Sale, KennelBooking or Customer
+     * @param writtenPets      the pets whose data is already in the journal file, the written pets are added
+     * @param writtenCustomers the customers whose data is already in the journal file, the written customers are added
+     * @return a buffer holding the written element, ready to be read
+     */
+    static ByteBuffer encodeRecord(Object element, IdentityMap<Pet> writtenPets, IdentityMap<Customer> writtenCustomers) {
+        Writer writer = new Writer();
+        Output record = new Output();
+        if (element instanceof Pet pet) {
+            writer.petRef(pet);
+            writtenPets.put(pet);
+            record.putVarLong(pet.getId());
+        } else if (element instanceof Customer customer) {
+            writer.customerRef(customer);
+            writtenCustomers.put(customer);
+            record.putVarLong(customer.getId());
+        } else if (element instanceof Sale sale) {
+            record.putVarLong(sale.getId());
+            record.putVarLong(writer.customerId(sale.getCustomer(), writtenCustomers));
+            record.putVarLong(writer.petId(sale.getPet(), writtenPets));
+            record.putDouble(sale.getPrice());
+            putDate(record, sale.getDate());
+        } else if (element instanceof KennelBooking booking) {
+            record.putVarLong(booking.getId());
+            record.putVarLong(writer.customerId(booking.getCustomer(), writtenCustomers));
+            record.putVarLong(writer.petId(booking.getPet(), writtenPets));
+            putDate(record, booking.getStartDate());
+            putDate(record, booking.getEndDate());
+            record.putDouble(booking.getPrice());
+        } else {
+            throw new IllegalArgumentException("Unknown element: " + element.getClass().getName());
+        }
+
+        Output out = new Output();
+        putTables(out, writer);
+        out.putBytes(record);
+        return out.toBuffer();
+    }
+
+    /**
+     * Reads one element written by encodeRecord.
+     *
+     * @param in            the element
+     * @param kind          the kind of list the element belongs to
+     * @param readPets      the pets read from the journal file so far, the pets in the element are added
+     * @param readCustomers the customers read from the journal file so far, the customers in the element are added
+     * @return the element
+     * @throws IOException if the element is damaged or refers to a pet or customer the journal file does not hold
+     */
+    static Object decodeRecord(ByteBuffer in, byte kind, IdentityMap<Pet> readPets, IdentityMap<Customer> readCustomers)
+            throws IOException {
+        try {
+            String[] strings = getStrings(in);
+            int numberOfCustomers = getCount(in);
+            for (int i = 0; i < numberOfCustomers; i++) {
+                readCustomers.put(getCustomer(in, strings, true));
+            }
+            int numberOfPets = getCount(in);
+            for (int i = 0; i < numberOfPets; i++) {
+                readPets.put(getPet(in, strings, true));
+            }
+            switch (kind) {
+                case PETS -> {
+                    return getById(in, readPets);
+                }
+                case CUSTOMERS -> {
+                    return getById(in, readCustomers);
+                }
+                case SALES -> {
+                    long id = getVarLong(in);
+                    Customer customer = getById(in, readCustomers);
+                    Pet pet = getById(in, readPets);
+                    double price = in.getDouble();
+                    Sale sale = new Sale(customer, pet, price, getDate(in));
+                    sale.setId(id);
+                    return sale;
+                }
+                case BOOKINGS -> {
+                    long id = getVarLong(in);
+                    Customer customer = getById(in, readCustomers);
+                    Pet pet = getById(in, readPets);
+                    Date startDate = getDate(in);
+                    Date endDate = getDate(in);
+                    KennelBooking booking = new KennelBooking(customer, pet, startDate, endDate, in.getDouble());
+                    booking.setId(id);
+                    return booking;
+                }
+                default -> throw new IOException("Unknown list in journal: " + kind);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException error) {
+            throw new IOException("Damaged journal record", error);
+        }
+    }
+
+    /**
+     * Writes the tables of the strings, customers and pets collected by a writer.
+     */
+    private static void putTables(Output out, Writer writer) {
+        out.putVarInt(writer.strings.size());
+        for (String string : writer.strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.putVarInt(bytes.length);
+            out.putBytes(bytes);
+        }
+        out.putVarInt(writer.customers.size());
+        out.putBytes(writer.customerTable);
+        out.putVarInt(writer.pets.size());
+        out.putBytes(writer.petTable);
+    }
+
+    /**
+     * Reads a model list or a kennel capacity written by encode, or by Java serialization in the files of older versions.
+     *
+     * @param bytes the contents of the file
+     * @return the list or the KennelCapacity, or null if the file is empty
+     * @throws IOException            if the file is damaged or written by a newer version
+     * @throws ClassNotFoundException if an old file holds an unknown class
+     */
+    public static Object decode(ByteBuffer bytes) throws IOException, ClassNotFoundException {
+        if (bytes.remaining() >= 2 && bytes.getShort(bytes.position()) == SERIALIZATION_MAGIC) {
+            return FileManager.fromBinary(bytes);
+        }
+        if (!bytes.hasRemaining()) {
+            return null;
+        }
+        try {
+            return decodeFile(bytes);
+        } catch (BufferUnderflowException | IllegalArgumentException error) {
+            throw new IOException("Damaged file", error);
+        }
+    }
+
+    private static Object decodeFile(ByteBuffer in) throws IOException {
+        if (in.remaining() < 6 || in.getInt() != MAGIC) {
+            throw new IOException("Not a VIAPets file");
+        }
+        byte version = in.get();
+        boolean hasIds = version >= 2;
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unknown file version: " + version);
+        }
+        byte kind = in.get();
+        long modificationCount = getVarLong(in);
+
+        String[] strings = getStrings(in);
+        Customer[] customers = new Customer[getCount(in)];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = getCustomer(in, strings, hasIds);
+        }
+        Pet[] pets = new Pet[getCount(in)];
+        for (int i = 0; i < pets.length; i++) {
+            pets[i] = getPet(in, strings, hasIds);
+        }
+        if (kind == CAPACITY) {
+            return getCapacity(in, strings);
+        }
+
+        ModelList<?> list;
+        int size = getCount(in);
+        switch (kind) {
+            case PETS -> {
+                PetList petList = new PetList();
+                for (int i = 0; i < size; i++) {
+                    petList.addElement(getRef(in, pets));
+                }
+                list = petList;
+            }
+            case SALES -> {
+                SaleList saleList = new SaleList();
+                for (int i = 0; i < size; i++) {
+                    long id = hasIds ? getVarLong(in) : 0;
+                    Customer customer = getRef(in, customers);
+                    Pet pet = getRef(in, pets);
+                    double price = in.getDouble();
+                    Sale sale = new Sale(customer, pet, price, getDate(in));
+                    if (hasIds) {
+                        sale.setId(id);
+                    }
+                    saleList.addElement(sale);
+                }
+                list = saleList;
+            }
+            case BOOKINGS -> {
+                BookingList bookingList = new BookingList();
+                for (int i = 0; i < size; i++) {
+                    long id = hasIds ? getVarLong(in) : 0;
+                    Customer customer = getRef(in, customers);
+                    Pet pet = getRef(in, pets);
+                    Date startDate = getDate(in);
+                    Date endDate = getDate(in);
+                    KennelBooking booking = new KennelBooking(customer, pet, startDate, endDate, in.getDouble());
+                    if (hasIds) {
+                        booking.setId(id);
+                    }
+                    bookingList.addElement(booking);
+                }
+                list = bookingList;
+            }
+            case CUSTOMERS -> {
+                CustomerList customerList = new CustomerList();
+                for (int i = 0; i < size; i++) {
+                    customerList.addElement(getRef(in, customers));
+                }
+                list = customerList;
+            }
+            default -> throw new IOException("Unknown list in file: " + kind);
+        }
+        list.setModificationCount(modificationCount);
+        return list;
+    }
+
+    /**
+     * Collects the strings, customers and pets of a list while it is written, giving each of them a number.
+     * Customers and pets are numbered by their id, so every customer and pet is written only once.
+     */
+    private static class Writer {
+        private final ArrayList<String> strings = new ArrayList<String>();
+        private final HashMap<String, Integer> stringRefs = new HashMap<String, Integer>();
+        private final HashMap<Long, Integer> customers = new HashMap<Long, Integer>();
+        private final HashMap<Long, Integer> pets = new HashMap<Long, Integer>();
+        private final Output customerTable = new Output();
+        private final Output petTable = new Output();
+
+        /**
+         * Gets the reference of a string: 0 for null, otherwise its number in the table plus one.
+         */
+        private int stringRef(String string) {
+            if (string == null) {
+                return 0;
+            }
+            Integer ref = stringRefs.get(string);
+            if (ref == null) {
+                strings.add(string);
+                ref = strings.size();
+                stringRefs.put(string, ref);
+            }
+            return ref;
+        }
+
+        private int customerRef(Customer customer) {
+            if (customer == null) {
+                return 0;
+            }
+            Integer ref = customers.get(customer.getId());
+            if (ref == null) {
+                ref = customers.size() + 1;
+                customers.put(customer.getId(), ref);
+                customerTable.putVarLong(customer.getId());
+                customerTable.putVarInt(stringRef(customer.getName()));
+                customerTable.putVarInt(stringRef(customer.getPhoneNumber()));
+                Address address = customer.getAddress();
+                if (address == null) {
+                    customerTable.putByte((byte) 0);
+                } else {
+                    customerTable.putByte((byte) 1);
+                    customerTable.putVarInt(stringRef(address.getStreet()));
+                    customerTable.putVarInt(stringRef(address.getCity()));
+                    customerTable.putVarInt(stringRef(address.getPostalCode()));
+                    customerTable.putVarInt(stringRef(address.getHouseNumber()));
+                }
+            }
+            return ref;
+        }
+
+        private int petRef(Pet pet) {
+            if (pet == null) {
+                return 0;
+            }
+            Integer ref = pets.get(pet.getId());
+            if (ref == null) {
+                ref = pets.size() + 1;
+                pets.put(pet.getId(), ref);
+                putPet(pet);
+            }
+            return ref;
+        }
+
+        /**
+         * Gets the id a journal record uses for a customer, adding the customer to the table
+         * if the journal file does not hold its data yet.
+         */
+        private long customerId(Customer customer, IdentityMap<Customer> writtenCustomers) {
+            if (customer == null) {
+                return 0;
+            }
+            if (writtenCustomers.get(customer.getId()) == null) {
+                customerRef(customer);
+                writtenCustomers.put(customer);
+            }
+            return customer.getId();
+        }
+
+        /**
+         * Gets the id a journal record uses for a pet, adding the pet to the table
+         * if the journal file does not hold its data yet.
+         */
+        private long petId(Pet pet, IdentityMap<Pet> writtenPets) {
+            if (pet == null) {
+                return 0;
+            }
+            if (writtenPets.get(pet.getId()) == null) {
+                petRef(pet);
+                writtenPets.put(pet);
+            }
+            return pet.getId();
+        }
+
+        private void putPet(Pet pet) {
+            int petClass;
+            boolean speciesFlag = false;
+            String first;
+            String second;
+            if (pet instanceof Dog dog) {
+                petClass = DOG;
+                first = dog.getBreederName();
+                second = dog.getBreed();
+            } else if (pet instanceof Cat cat) {
+                petClass = CAT;
+                first = cat.getBreederName();
+                second = cat.getBreed();
+            } else if (pet instanceof Bird bird) {
+                petClass = BIRD;
+                first = bird.getPreferredFood();
+                second = bird.getSpecies();
+            } else if (pet instanceof Fish fish) {
+                petClass = FISH;
+                speciesFlag = fish.getIsPredatorBoolean();
+                first = fish.getHabitat();
+                second = fish.getSpecies();
+            } else if (pet instanceof Rodent rodent) {
+                petClass = RODENT;
+                speciesFlag = rodent.getDoTheyBiteBoolean();
+                first = rodent.getSpecies();
+                second = null;
+            } else {
+                throw new IllegalArgumentException("Unknown pet: " + pet.getClass().getName());
+            }
+            int flags = (pet.getTypeBoolean() ? TYPE_FLAG : 0) | (pet.getAvailableBoolean() ? AVAILABLE_FLAG : 0)
+                    | (speciesFlag ? SPECIES_FLAG : 0);
+            petTable.putByte((byte) (petClass << 3 | flags));
+            petTable.putVarLong(pet.getId());
+            petTable.putVarInt(stringRef(pet.getColor()));
+            petTable.putVarLong(zigZag(pet.getAge()));
+            petTable.putVarInt(stringRef(pet.getGender()));
+            petTable.putVarInt(stringRef(pet.getName()));
+            petTable.putVarInt(stringRef(pet.getComment()));
+            petTable.putDouble(pet.getPrice());
+            petTable.putVarInt(stringRef(first));
+            if (petClass != RODENT) {
+                petTable.putVarInt(stringRef(second));
+            }
+        }
+    }
+
+    private static Customer getCustomer(ByteBuffer in, String[] strings, boolean hasIds) throws IOException {
+        long id = hasIds ? getVarLong(in) : 0;
+        String name = getString(in, strings);
+        String phoneNumber = getString(in, strings);
+        Address address = null;
+        if (in.get() != 0) {
+            String street = getString(in, strings);
+            String city = getString(in, strings);
+            String postalCode = getString(in, strings);
+            address = new Address(street, city, postalCode, getString(in, strings));
+        }
+        Customer customer = new Customer(name, address, phoneNumber);
+        if (hasIds) {
+            customer.setId(id);
+        }
+        return customer;
+    }
+
+    private static Pet getPet(ByteBuffer in, String[] strings, boolean hasIds) throws IOException {
+        int header = in.get();
+        long id = hasIds ? getVarLong(in) : 0;
+        int petClass = header >> 3;
+        boolean type = (header & TYPE_FLAG) != 0;
+        boolean available = (header & AVAILABLE_FLAG) != 0;
+        boolean speciesFlag = (header & SPECIES_FLAG) != 0;
+        String color = getString(in, strings);
+        int age = (int) unZigZag(getVarLong(in));
+        String gender = getString(in, strings);
+        String name = getString(in, strings);
+        String comment = getString(in, strings);
+        double price = in.getDouble();
+        String first = getString(in, strings);
+        Pet pet = switch (petClass) {
+            case DOG -> new Dog(color, age, gender, name, comment, type, price, available, first, getString(in, strings));
+            case CAT -> new Cat(color, age, gender, name, comment, type, price, available, first, getString(in, strings));
+            case BIRD -> new Bird(color, age, gender, name, comment, type, price, available, first, getString(in, strings));
+            case FISH -> new Fish(color, age, gender, name, comment, type, price, available, speciesFlag, first, getString(in, strings));
+            case RODENT -> new Rodent(color, age, gender, name, comment, type, price, available, first, speciesFlag);
+            default -> throw new IOException("Unknown pet in file: " + petClass);
+        };
+        if (hasIds) {
+            pet.setId(id);
+        }
+        return pet;
+    }
+
+    private static KennelCapacity getCapacity(ByteBuffer in, String[] strings) throws IOException {
+        KennelCapacity capacity = new KennelCapacity((int) unZigZag(getVarLong(in)));
+        int numberOfClasses = getCount(in);
+        for (int i = 0; i < numberOfClasses; i++) {
+            String className = getString(in, strings);
+            capacity.setKennels(className, (int) unZigZag(getVarLong(in)));
+        }
+        int numberOfChanges = getCount(in);
+        for (int i = 0; i < numberOfChanges; i++) {
+            String className = getString(in, strings);
+            Date startDate = getDate(in);
+            Date endDate = getDate(in);
+            if (startDate == null || endDate == null) {
+                throw new IOException("Damaged file: change without dates");
+            }
+            capacity.addChange(className, startDate, endDate, (int) unZigZag(getVarLong(in)));
+        }
+        return capacity;
+    }
+
+    private static void putDate(Output out, Date date) {
+        if (date == null) {
+            out.putByte((byte) 0);
+        } else {
+            out.putByte((byte) 1);
+            out.putVarLong(zigZag(date.getDay()));
+            out.putVarLong(zigZag(date.getMonth()));
+            out.putVarLong(zigZag(date.getYear()));
+        }
+    }
+
+    private static Date getDate(ByteBuffer in) throws IOException {
+        if (in.get() == 0) {
+            return null;
+        }
+        int day = (int) unZigZag(getVarLong(in));
+        int month = (int) unZigZag(getVarLong(in));
+        return new Date(day, month, (int) unZigZag(getVarLong(in)));
+    }
+
+    private static String getString(ByteBuffer in, String[] strings) throws IOException {
+        int ref = getVarInt(in);
+        if (ref > strings.length) {
+            throw new IOException("Damaged file: unknown string " + ref);
+        }
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private static String[] getStrings(ByteBuffer in) throws IOException {
+        String[] strings = new String[getCount(in)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] string = new byte[getCount(in)];
+            in.get(string);
+            strings[i] = new String(string, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    /**
+     * Reads an id and finds the entity with that id, 0 standing for no entity.
+     */
+    private static <T extends Entity> T getById(ByteBuffer in, IdentityMap<T> entities) throws IOException {
+        long id = getVarLong(in);
+        if (id == 0) {
+            return null;
+        }
+        T entity = entities.get(id);
+        if (entity == null) {
+            throw new IOException("Damaged journal record: unknown id " + id);
+        }
+        return entity;
+    }
+
+    private static <T> T getRef(ByteBuffer in, T[] table) throws IOException {
+        int ref = getVarInt(in);
+        if (ref > table.length) {
+            throw new IOException("Damaged file: unknown reference " + ref);
+        }
+        return ref == 0 ? null : table[ref - 1];
+    }
+
+    /**
+     * Reads the number of things which follow. Everything takes at least one byte, so the count can never be more
+     * than the number of bytes left in the file, and a damaged file cannot make the reader allocate huge arrays.
+     */
+    private static int getCount(ByteBuffer in) throws IOException {
+        long count = getVarLong(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new IOException("Damaged file: count " + count);
+        }
+        return (int) count;
+    }
+
+    private static int getVarInt(ByteBuffer in) throws IOException {
+        long value = getVarLong(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Damaged file: number " + value);
+        }
+        return (int) value;
+    }
+
+    private static long getVarLong(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Damaged file: varint too long");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * A ByteBuffer which grows while it is written.
+     */
+    private static class Output {
+        private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        private void ensureRemaining(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                bigger.put(buffer);
+                buffer = bigger;
+            }
+        }
+
+        private void putByte(byte value) {
+            ensureRemaining(1);
+            buffer.put(value);
+        }
+
+        private void putInt(int value) {
+            ensureRemaining(4);
+            buffer.putInt(value);
+        }
+
+        private void putDouble(double value) {
+            ensureRemaining(8);
+            buffer.putDouble(value);
+        }
+
+        private void putVarInt(int value) {
+            putVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void putVarLong(long value) {
+            ensureRemaining(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void putBytes(byte[] bytes) {
+            ensureRemaining(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void putBytes(Output other) {
+            ByteBuffer bytes = other.toBuffer();
+            ensureRemaining(bytes.remaining());
+            buffer.put(bytes);
+        }
+
+        private ByteBuffer toBuffer() {
+            ByteBuffer written = buffer.duplicate();
+            written.flip();
+            return written;
+        }
+    }
+}
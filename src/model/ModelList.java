@@ -0,0 +1,149 @@
+package model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * An abstract class for the lists of the model, which counts their changes and tells listeners about them.
+ * Every change of a subclass goes through addElement, setElement or removeElement, so indexes kept by
+ * the subclass and the listeners always see the same changes in the same order.
+ *
+ * @param <T> the type of the elements in the list
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public abstract class ModelList<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private long modificationCount; // number of changes made to the list since it was created
+    private transient ArrayList<ModelListener<T>> listeners; // listeners are never saved to files
+
+    /**
+     * Gets the number of changes made to the list since it was created.
+     * The number is saved with the list, so it keeps growing after the list is read from a file.
+     *
+     * @return the number of changes
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Sets the number of changes, used when the changes are read back from the journal.
+     *
+     * @param modificationCount the number of changes
+     */
+    void setModificationCount(long modificationCount) {
+        this.modificationCount = modificationCount;
+    }
+
+    /**
+     * Adds a listener which is told about every change of the list.
+     *
+     * @param listener the listener to be added
+     */
+    public synchronized void addListener(ModelListener<T> listener) {
+        if (listeners == null) {
+            listeners = new ArrayList<ModelListener<T>>();
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener from the list.
+     *
+     * @param listener the listener to be removed
+     */
+    public synchronized void removeListener(ModelListener<T> listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Gets the element at an index of the list.
+     *
+     * @param index the index of the element
+     * @return the element
+     */
+    abstract T getElement(int index);
+
+    /**
+     * Adds an element to the end of the list without any checks, updating the indexes of the list.
+     *
+     * @param element the element to be added
+     */
+    abstract void addElement(T element);
+
+    /**
+     * Replaces the element at an index without any checks, updating the indexes of the list.
+     *
+     * @param index   the index of the element
+     * @param element the new element
+     */
+    abstract void setElement(int index, T element);
+
+    /**
+     * Removes the element at an index, updating the indexes of the list.
+     *
+     * @param index the index of the element
+     */
+    abstract void removeElement(int index);
+
+    /**
+     * Counts an added element and tells the listeners about it.
+     *
+     * @param index   the index of the new element
+     * @param element the new element
+     */
+    protected synchronized void fireElementAdded(int index, T element) {
+        modificationCount++;
+        if (listeners != null) {
+            for (ModelListener<T> listener : new ArrayList<ModelListener<T>>(listeners)) {
+                listener.elementAdded(index, element);
+            }
+        }
+    }
+
+    /**
+     * Counts a replaced or changed element and tells the listeners about it.
+     *
+     * @param index      the index of the element
+     * @param oldElement the element which was replaced
+     * @param newElement the element which is now in the list
+     */
+    protected synchronized void fireElementChanged(int index, T oldElement, T newElement) {
+        modificationCount++;
+        if (listeners != null) {
+            for (ModelListener<T> listener : new ArrayList<ModelListener<T>>(listeners)) {
+                listener.elementChanged(index, oldElement, newElement);
+            }
+        }
+    }
+
+    /**
+     * Counts a removed element and tells the listeners about it.
+     *
+     * @param index   the index the element had
+     * @param element the removed element
+     */
+    protected synchronized void fireElementRemoved(int index, T element) {
+        modificationCount++;
+        if (listeners != null) {
+            for (ModelListener<T> listener : new ArrayList<ModelListener<T>>(listeners)) {
+                listener.elementRemoved(index, element);
+            }
+        }
+    }
+
+    /**
+     * Tells the listeners that something the whole list depends on has changed. This is not counted,
+     * because the modification count only counts the changes of the elements, which the journal replays.
+     */
+    protected synchronized void fireListChanged() {
+        if (listeners != null) {
+            for (ModelListener<T> listener : new ArrayList<ModelListener<T>>(listeners)) {
+                listener.listChanged();
+            }
+        }
+    }
+}
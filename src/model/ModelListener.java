@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * An interface for objects which want to be told about every change of one of the model lists.
+ * The methods are called right after the list has changed, on the thread which changed it.
+ *
+ * @param <T> the type of the elements in the list
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public interface ModelListener<T> {
+
+    /**
+     * Called after an element was added to the list.
+     *
+     * @param index   the index of the new element
+     * @param element the new element
+     */
+    void elementAdded(int index, T element);
+
+    /**
+     * Called after an element of the list was replaced or changed.
+     *
+     * @param index      the index of the element
+     * @param oldElement the element which was replaced, the same object as newElement when it was only changed
+     * @param newElement the element which is now in the list
+     */
+    void elementChanged(int index, T oldElement, T newElement);
+
+    /**
+     * Called after an element was removed from the list.
+     *
+     * @param index   the index the element had
+     * @param element the removed element
+     */
+    void elementRemoved(int index, T element);
+
+    /**
+     * Called after something the whole list depends on has changed while its elements stayed the same,
+     * for example the number of kennels of the booking list.
+     */
+    default void listChanged() {
+    }
+}
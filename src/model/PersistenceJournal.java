@@ -0,0 +1,371 @@
+package model;
+
+import utils.FileManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A class which saves every change of the lists in a VIAPets object as a short record at the end of a journal file,
+ * instead of writing the whole list again. From time to time the journal is folded into the .bin snapshot files
+ * on a background thread, and when the application starts the snapshot files are read and the journal is replayed.
+ * <p>
+ * Every record holds the modification count the list had after the change, and a record is only replayed when
+ * the list read from the snapshot has a lower count, so a record is never applied twice, even after a crash
+ * in the middle of folding.
+ * <p>
+ * The elements are written with ModelCodec. Sales and bookings refer to their pet and customer by id, and the data
+ * of a pet or customer is written once per journal file, so every journal file can be replayed on its own.
+ * After replaying, the sales and bookings are linked to the pets and customers of the lists again.
+ * <p>
+ * If a record cannot be written, the journal is broken: the error is printed once, the journal stops taking records
+ * and folding, and all lists are saved to their own files instead, like without a journal.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class PersistenceJournal {
+    public static final String JOURNAL_FILE = "savedInformation/journal.log"; // records written right now
+    public static final String FOLDED_JOURNAL_FILE = "savedInformation/journal.old.log"; // records being folded
+    private static final long COMPACTION_SIZE = 256 * 1024; // size of the journal in bytes before it is folded
+    private static final long COMPACTION_PERIOD = 60; // seconds between checking the size of the journal
+    private static final int MAX_RECORD_LENGTH = 16 * 1024 * 1024; // longer records can only be a damaged file
+
+    private static final byte ADDED = 0;
+    private static final byte CHANGED = 1;
+    private static final byte REMOVED = 2;
+    private static final short SERIALIZATION_MAGIC = (short) 0xACED; // elements of older journals were serialized
+
+    private final VIAPets viaPets; // the lists whose changes are saved
+    private FileOutputStream journalFile;
+    private DataOutputStream journal;
+    private ScheduledExecutorService compactor;
+    private IdentityMap<Pet> writtenPets; // the pets whose data is in the journal file
+    private IdentityMap<Customer> writtenCustomers; // the customers whose data is in the journal file
+    private volatile Exception compactionError; // why the last fold failed, null when it succeeded
+    private volatile IOException writeError; // why the journal could not be written, null while it works
+
+    /**
+     * Constructs a journal for the lists of a VIAPets object.
+     *
+     * @param viaPets the object whose lists are saved
+     */
+    public PersistenceJournal(VIAPets viaPets) {
+        this.viaPets = viaPets;
+    }
+
+    /**
+     * Replays the journal files into the lists, opens the journal for new records, starts listening
+     * to the lists and starts folding the journal in the background.
+     *
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public void open() throws IOException, ClassNotFoundException {
+        if (new File(FOLDED_JOURNAL_FILE).exists()) {
+            replay(FOLDED_JOURNAL_FILE, viaPets, new IdentityMap<Pet>(), new IdentityMap<Customer>());
+        }
+        writtenPets = new IdentityMap<Pet>();
+        writtenCustomers = new IdentityMap<Customer>();
+        if (new File(JOURNAL_FILE).exists()) {
+            // new records are added to this file, so they may refer to the pets and customers it already holds
+            long validLength = replay(JOURNAL_FILE, viaPets, writtenPets, writtenCustomers);
+            try (RandomAccessFile file = new RandomAccessFile(JOURNAL_FILE, "rw")) {
+                file.setLength(validLength); // drops a record which was only half written
+            }
+        }
+        openJournalFile();
+
+        listenTo(viaPets.getPetList(), ModelCodec.PETS);
+        listenTo(viaPets.getSaleList(), ModelCodec.SALES);
+        listenTo(viaPets.getBookingList(), ModelCodec.BOOKINGS);
+        listenTo(viaPets.getCustomerList(), ModelCodec.CUSTOMERS);
+
+        compactor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "VIAPets journal compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded, COMPACTION_PERIOD, COMPACTION_PERIOD, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes all records to the disk, so they are not lost if the computer crashes.
+     *
+     * @throws IOException
+     */
+    public synchronized void sync() throws IOException {
+        if (writeError != null) {
+            return; // the lists are saved to their own files instead
+        }
+        try {
+            journal.flush();
+            journalFile.getChannel().force(false);
+        } catch (IOException error) {
+            breakJournal(error);
+        }
+    }
+
+    /**
+     * Stops folding the journal and closes the journal file.
+     *
+     * @throws IOException
+     */
+    public synchronized void close() throws IOException {
+        compactor.shutdown();
+        sync();
+        if (writeError != null) {
+            journalFile.close(); // without writing what is left of the broken record
+        } else {
+            journal.close();
+        }
+    }
+
+    /**
+     * Folds the journal into the snapshot files now.
+     *
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public void compact() throws IOException, ClassNotFoundException {
+        if (new File(FOLDED_JOURNAL_FILE).exists()) {
+            fold(); // left over from a fold which did not finish
+        }
+        synchronized (this) {
+            if (writeError != null) {
+                return;
+            }
+            sync();
+            journal.close();
+            Files.move(Paths.get(JOURNAL_FILE), Paths.get(FOLDED_JOURNAL_FILE), StandardCopyOption.ATOMIC_MOVE);
+            writtenPets = new IdentityMap<Pet>(); // the new file has to hold the data of the pets and customers again
+            writtenCustomers = new IdentityMap<Customer>();
+            openJournalFile();
+        }
+        fold();
+    }
+
+    /**
+     * Gets why folding the journal failed the last time it was tried.
+     * The records are kept in the folded journal until a fold succeeds, so nothing is lost in the meantime.
+     *
+     * @return the error, or null if the last fold succeeded
+     */
+    public Exception getCompactionError() {
+        return compactionError;
+    }
+
+    /**
+     * Checks if the journal could not be written, so the lists have to be saved to their own files.
+     *
+     * @return true if the journal is broken, otherwise false
+     */
+    public boolean isBroken() {
+        return writeError != null;
+    }
+
+    /**
+     * Gets why the journal could not be written.
+     *
+     * @return the error, or null if the journal works
+     */
+    public IOException getWriteError() {
+        return writeError;
+    }
+
+    /**
+     * Stops using the journal after a record could not be written: prints the error, stops folding
+     * and has all lists saved to their own files.
+     */
+    private void breakJournal(IOException error) {
+        writeError = error;
+        System.out.println("Error writing journal, saving the whole files instead: " + error);
+        compactor.shutdown();
+        VIAPetsModelManager.saveAllLists(viaPets);
+    }
+
+    /**
+     * Folds the journal when it has grown too big, called regularly on the background thread.
+     * A failure is printed once and kept until a later fold succeeds.
+     */
+    private void compactIfNeeded() {
+        try {
+            if (new File(JOURNAL_FILE).length() > COMPACTION_SIZE || new File(FOLDED_JOURNAL_FILE).exists()) {
+                compact();
+                compactionError = null;
+            }
+        } catch (IOException | ClassNotFoundException | RuntimeException error) {
+            if (compactionError == null) {
+                System.out.println("Error compacting journal, the records are kept in " + FOLDED_JOURNAL_FILE + ": " + error);
+            }
+            compactionError = error;
+        }
+    }
+
+    /**
+     * Reads the snapshot files, replays the folded journal on them, writes them back and deletes the folded journal.
+     * The lists in use are not touched, so this can run while the user keeps working. The snapshot is written
+     * while holding the lock of the journal, so it cannot overwrite the files saved after the journal broke.
+     */
+    private void fold() throws IOException, ClassNotFoundException {
+        VIAPets snapshot = VIAPetsModelManager.readSnapshot();
+        replay(FOLDED_JOURNAL_FILE, snapshot, new IdentityMap<Pet>(), new IdentityMap<Customer>());
+        snapshot.linkReferences(); // the sales and bookings are saved with the pets and customers of the lists
+        synchronized (this) {
+            if (writeError != null) {
+                return; // the lists in use are saved to their own files, which are newer than the snapshot
+            }
+            VIAPetsModelManager.writeSnapshot(snapshot);
+        }
+        Files.delete(Paths.get(FOLDED_JOURNAL_FILE));
+    }
+
+    private void openJournalFile() throws IOException {
+        journalFile = new FileOutputStream(JOURNAL_FILE, true);
+        journal = new DataOutputStream(new BufferedOutputStream(journalFile));
+    }
+
+    private <T> void listenTo(ModelList<T> list, byte listId) {
+        list.addListener(new ModelListener<T>() {
+            @Override
+            public void elementAdded(int index, T element) {
+                append(listId, ADDED, index, list.getModificationCount(), element);
+            }
+
+            @Override
+            public void elementChanged(int index, T oldElement, T newElement) {
+                append(listId, CHANGED, index, list.getModificationCount(), newElement);
+            }
+
+            @Override
+            public void elementRemoved(int index, T element) {
+                append(listId, REMOVED, index, list.getModificationCount(), null);
+            }
+        });
+    }
+
+    /**
+     * Writes one record: its length, the record and a checksum of the record.
+     */
+    private synchronized void append(byte listId, byte operation, int index, long modificationCount, Object element) {
+        if (writeError != null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream record = new DataOutputStream(bytes);
+            record.writeByte(listId);
+            record.writeByte(operation);
+            record.writeInt(index);
+            record.writeLong(modificationCount);
+            if (element != null) {
+                ByteBuffer elementBytes = ModelCodec.encodeRecord(element, writtenPets, writtenCustomers);
+                record.write(elementBytes.array(), elementBytes.position(), elementBytes.remaining());
+            }
+            byte[] recordBytes = bytes.toByteArray();
+            CRC32 checksum = new CRC32();
+            checksum.update(recordBytes);
+
+            journal.writeInt(recordBytes.length);
+            journal.write(recordBytes);
+            journal.writeInt((int) checksum.getValue());
+        } catch (IOException error) {
+            breakJournal(error); // the list has already changed, so the change is saved in its file instead
+        }
+    }
+
+    /**
+     * Applies the records of a journal file to the lists of a VIAPets object, stopping at the first damaged record.
+     *
+     * @param readPets      collects the pets whose data is in the file
+     * @param readCustomers collects the customers whose data is in the file
+     * @return the length of the file up to the end of the last valid record
+     */
+    private static long replay(String fileName, VIAPets viaPets, IdentityMap<Pet> readPets, IdentityMap<Customer> readCustomers)
+            throws IOException, ClassNotFoundException {
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            while (true) {
+                byte[] recordBytes;
+                int storedChecksum;
+                try {
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_LENGTH) {
+                        break;
+                    }
+                    recordBytes = new byte[length];
+                    in.readFully(recordBytes);
+                    storedChecksum = in.readInt();
+                } catch (EOFException endOfFile) {
+                    break; // the end of the file, or a record which was only half written
+                }
+                CRC32 checksum = new CRC32();
+                checksum.update(recordBytes);
+                if ((int) checksum.getValue() != storedChecksum) {
+                    break;
+                }
+                apply(recordBytes, viaPets, readPets, readCustomers);
+                validLength += 8 + recordBytes.length;
+            }
+        }
+        return validLength;
+    }
+
+    /**
+     * Applies one record. The pets and customers in the record are collected even when the change is already
+     * in the snapshot, because later records of the file refer to them by id.
+     */
+    private static void apply(byte[] recordBytes, VIAPets viaPets, IdentityMap<Pet> readPets,
+                              IdentityMap<Customer> readCustomers) throws IOException, ClassNotFoundException {
+        ByteBuffer record = ByteBuffer.wrap(recordBytes);
+        byte listId = record.get();
+        byte operation = record.get();
+        int index = record.getInt();
+        long modificationCount = record.getLong();
+        Object element = null;
+        if (operation != REMOVED) {
+            if (record.remaining() >= 2 && record.getShort(record.position()) == SERIALIZATION_MAGIC) {
+                element = FileManager.fromBinary(record); // a record written before the elements used ModelCodec
+            } else {
+                element = ModelCodec.decodeRecord(record, listId, readPets, readCustomers);
+            }
+        }
+        switch (listId) {
+            case ModelCodec.PETS -> apply(viaPets.getPetList(), operation, index, modificationCount, element);
+            case ModelCodec.SALES -> apply(viaPets.getSaleList(), operation, index, modificationCount, element);
+            case ModelCodec.BOOKINGS -> apply(viaPets.getBookingList(), operation, index, modificationCount, element);
+            case ModelCodec.CUSTOMERS -> apply(viaPets.getCustomerList(), operation, index, modificationCount, element);
+            default -> throw new IOException("Unknown list in journal: " + listId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void apply(ModelList<T> list, byte operation, int index, long modificationCount, Object element) {
+        if (modificationCount <= list.getModificationCount()) {
+            return; // the change is already in the snapshot
+        }
+        switch (operation) {
+            case ADDED -> list.addElement((T) element);
+            case CHANGED -> list.setElement(index, (T) element);
+            case REMOVED -> list.removeElement(index);
+        }
+        list.setModificationCount(modificationCount);
+    }
+}
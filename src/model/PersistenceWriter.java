@@ -0,0 +1,185 @@
+package model;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class which saves files on its own background thread, so the user interface does not wait for the disk.
+ * Saving a file only marks it as dirty; all files marked during one flush interval are saved together
+ * afterwards, and a file marked many times during the interval is saved only once.
+ * A file which cannot be saved is tried again later, waiting twice as long after every failure up to a minute,
+ * and the failure is printed only once.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class PersistenceWriter {
+    private static final long MAX_RETRY_DELAY = 60000; // the longest wait in milliseconds before saving a failed file again
+    private final ScheduledExecutorService executor; // the one thread doing all the saving
+    private final long flushInterval; // milliseconds between marking a file and saving it
+    private final LinkedHashMap<String, SaveAction> pendingSaves; // dirty files and how to save them
+    private boolean flushScheduled; // true when a flush is already waiting on the executor
+    private int savesRunning; // number of saves taken from pendingSaves which have not finished yet
+    private final HashMap<String, SaveAction> failedSaves; // files waiting to be tried again after a failure
+    private final HashMap<String, Integer> failedAttempts; // failures in a row of every file which cannot be saved
+
+    /**
+     * An interface for the code which saves one file.
+     */
+    public interface SaveAction {
+        /**
+         * Saves the file.
+         *
+         * @throws IOException
+         */
+        void save() throws IOException;
+    }
+
+    /**
+     * Constructs a writer and starts its thread.
+     *
+     * @param flushInterval the number of milliseconds changes are collected before they are saved
+     */
+    public PersistenceWriter(long flushInterval) {
+        this.flushInterval = flushInterval;
+        this.pendingSaves = new LinkedHashMap<String, SaveAction>();
+        this.failedSaves = new HashMap<String, SaveAction>();
+        this.failedAttempts = new HashMap<String, Integer>();
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "VIAPets persistence writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Marks a file as dirty, so it is saved at the end of the current flush interval.
+     * If the file is already dirty, only the newest save action is kept.
+     *
+     * @param fileName   the name of the file
+     * @param saveAction the code which saves the file
+     */
+    public synchronized void markDirty(String fileName, SaveAction saveAction) {
+        failedSaves.remove(fileName); // the new action replaces the one waiting to be tried again
+        pendingSaves.put(fileName, saveAction);
+        scheduleFlush();
+    }
+
+    /**
+     * Gets the number of files which are dirty, being saved right now or waiting to be tried again.
+     *
+     * @return the number of pending writes
+     */
+    public synchronized int getPendingWrites() {
+        return pendingSaves.size() + savesRunning + failedSaves.size();
+    }
+
+    /**
+     * Saves all dirty files now, including the files waiting to be tried again, and waits until they are saved.
+     */
+    public void flush() {
+        try {
+            executor.submit(() -> {
+                synchronized (this) {
+                    failedSaves.forEach(pendingSaves::putIfAbsent);
+                    failedSaves.clear();
+                }
+                runPendingSaves();
+            }).get();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException error) {
+            throw new RuntimeException(error.getCause());
+        }
+    }
+
+    /**
+     * Saves all dirty files and stops the thread of the writer.
+     * The files which still cannot be saved are printed.
+     */
+    public void shutdown() {
+        flush();
+        executor.shutdown();
+        synchronized (this) {
+            for (String fileName : failedSaves.keySet()) {
+                System.out.println("Error writing to file " + fileName + ", the changes are lost");
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled && !pendingSaves.isEmpty()) {
+            flushScheduled = true;
+            executor.schedule(this::runPendingSaves, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Saves every dirty file once. A file which could not be saved is tried again later, see retryLater.
+     */
+    private void runPendingSaves() {
+        LinkedHashMap<String, SaveAction> saves;
+        synchronized (this) {
+            saves = new LinkedHashMap<String, SaveAction>(pendingSaves);
+            pendingSaves.clear();
+            flushScheduled = false;
+            savesRunning = saves.size();
+        }
+        for (Map.Entry<String, SaveAction> save : saves.entrySet()) {
+            try {
+                save.getValue().save();
+                synchronized (this) {
+                    Integer failures = failedAttempts.remove(save.getKey());
+                    if (failures != null) {
+                        System.out.println("Wrote file " + save.getKey() + " after " + failures + " failed attempts");
+                    }
+                }
+            } catch (IOException | RuntimeException error) {
+                retryLater(save.getKey(), save.getValue(), error);
+            } finally {
+                synchronized (this) {
+                    savesRunning--;
+                }
+            }
+        }
+        synchronized (this) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Keeps a save which failed to be tried again after a delay which doubles with every failure in a row.
+     * Only the first failure in a row is printed. If the file is marked again in the meantime,
+     * the newer save action is used instead.
+     */
+    private synchronized void retryLater(String fileName, SaveAction saveAction, Exception error) {
+        int failures = failedAttempts.merge(fileName, 1, Integer::sum);
+        if (failures == 1) {
+            System.out.println("Error writing to file " + fileName + ", trying again later: " + error.getMessage());
+        }
+        if (pendingSaves.containsKey(fileName)) {
+            return; // marked again while it was saved, the newer action is saved at the next flush
+        }
+        failedSaves.put(fileName, saveAction);
+        if (executor.isShutdown()) {
+            return; // the writer is stopping, shutdown prints the files which could not be saved
+        }
+        long delay = Math.min(flushInterval << Math.min(failures, 20), MAX_RETRY_DELAY);
+        executor.schedule(() -> {
+            synchronized (this) {
+                SaveAction failedSave = failedSaves.remove(fileName);
+                if (failedSave == null) {
+                    return; // marked again or flushed in the meantime
+                }
+                pendingSaves.putIfAbsent(fileName, failedSave);
+            }
+            runPendingSaves();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Objects;
 /**
@@ -9,9 +11,11 @@ import java.util.Objects;
  * @version 1.0- December 2024
  **/
 
-public abstract class Pet implements Serializable
+public abstract class Pet implements Serializable, Entity
 {
+    private static final long serialVersionUID = -6308814259053585881L;
     // instance variables for a pet
+    private long id;// pet's id, which never changes
     private String color;// pet's color
     private int age;// pet's age
     private String gender;// pet's gender
@@ -20,6 +24,7 @@ public abstract class Pet implements Serializable
     private boolean type;// pet's type (if the pet is from kennel or for sale)
     private double price;// pet's price (if it is for sale)
     private boolean available;// pet's available (only for pets for sale)
+    private transient String petClassName;// the simple class name, looked up once because tables ask for it often
     /**
      * 10 argument Constructor for creating pet objects.
      * Parameters:
@@ -37,6 +42,7 @@ public abstract class Pet implements Serializable
         boolean type, double price, boolean available)
     {
         // initialize instance variables with provided values
+        this.id = EntityIds.next();
         this.setColor(color);
         this.setAge(age);
         this.setGender(gender);
@@ -46,6 +52,31 @@ public abstract class Pet implements Serializable
         this.setPrice(price);
         this.setAvailable(available);
     }
+    /** Getter method for pet id
+     * @return id */
+    @Override
+    public long getId()
+    {
+        return id;
+    }
+    /** Setter method for pet id, used when the pet is read from a file or takes the place of another pet
+     * @param id */
+    void setId(long id)
+    {
+        EntityIds.reserve(id);
+        this.id = id;
+    }
+    /** Reads the pet from a file, giving it a new id if it was saved before pets had ids
+     * @param in the stream to read from */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        if (id == 0) {
+            id = EntityIds.next();
+        } else {
+            EntityIds.reserve(id);
+        }
+    }
     /** Setter method for pet color
      * @param color */
     public void setColor(String color)
@@ -169,7 +200,10 @@ public abstract class Pet implements Serializable
      * @return simple className */
     public String getPetClassName()
     {
-        return this.getClass().getSimpleName();
+        if (petClassName == null) {
+            petClassName = this.getClass().getSimpleName();
+        }
+        return petClassName;
     }
     /**
      * toString method from Pet class to provide a string representation of the pet object
@@ -189,16 +223,39 @@ public abstract class Pet implements Serializable
     }
     /**
      * Equals method to compare pets for equality.
+     * Pets are equal when they have the same id, so a pet is still found after its data was changed.
      *
      * @param object Object to compare.
      * @return True if the pets are equal, false if they're not.
      */
+    @Override
     public boolean equals(Object object) {
+        if (this == object) return true;
+        if (!(object instanceof Pet pet)) return false;
+        return id == pet.id;
+    }
+    /**
+     * Hash code method consistent with equals.
+     *
+     * @return the hash code of the id
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+    /**
+     * Compares all the data of two pets, but not their ids.
+     * Used to find the same pet in files saved before pets had ids.
+     *
+     * @param object Pet to compare.
+     * @return True if the pets have the same data, false if they don't.
+     */
+    public boolean hasSameData(Pet object) {
         // Check if the object is null or of a different class
         if (this == object) return true;
         if (object == null || getClass() != object.getClass()) return false;
         // makes a copy
-        Pet pet = (Pet) object;
+        Pet pet = object;
         // compare instance variables for equality
         return age == pet.age && type == pet.type && Double.compare(price, pet.price) == 0 && available == pet.available && Objects.equals(color, pet.color) && Objects.equals(gender, pet.gender) && Objects.equals(name, pet.name) && Objects.equals(comment, pet.comment);
     }
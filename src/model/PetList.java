@@ -1,24 +1,71 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 
 /**
  * A class representing a list of pets.
  * This class uses an ArrayList to store and manage Pet objects.
  * It provides methods for adding, removing, retrieving, and editing pets in the list.
+ * The pets are also grouped by class name, type and availability, so pets can be found by those
+ * without going through the whole list.
+ * <p>
+ * The name of a pet is unique among the pets with the same class name and type: addPet and editPet refuse a pet
+ * whose name is already taken there, so a pet can be found by its name. Pets with the same name read from files of
+ * older versions are kept, and getPetByName gives the one which joined the list first.
+ * <p>
+ * The pets are indexed by their class name, type, availability and name, so a pet in the list must be changed with
+ * editPet or setAvailable and not through its setters. The listeners of the list keep the sales and bookings linked
+ * to the pets, taking the locks of the sale and booking lists while the lock of this list is held. Locks are therefore
+ * always taken in the order pet list, then sale or booking list: code holding the lock of a sale or booking list
+ * must not change the pet list.
  *
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0 - December 2024
  */
-public class PetList implements Serializable {
+public class PetList extends ModelList<Pet> implements Serializable {
+    private static final long serialVersionUID = -6176910565038328664L;
     private ArrayList<Pet> pets; //ArrayList to store all pets
+    private transient HashMap<Long, Integer> positions; //index of every pet by its id, rebuilt after reading from a file
+    private transient LinkedHashMap<PetGroup, LinkedHashSet<Pet>> groups; //pets by class name, type and availability
+    private transient IdentityHashMap<Pet, PetGroup> groupOfPet; //the group every pet of the list is in
+    private transient HashMap<PetName, ArrayList<Pet>> byName; //pets by class name, type and name
+    private transient IdentityHashMap<Pet, PetName> nameOfPet; //the name every pet of the list is indexed by
+
+    /**
+     * The name of a pet together with the class name and type the name is unique in.
+     */
+    private record PetName(String className, String type, String name) {
+        private static PetName of(Pet pet) {
+            return new PetName(pet.getPetClassName(), pet.getType(), pet.getName());
+        }
+    }
+
+    /**
+     * The class name, type and availability shared by a group of pets.
+     */
+    private record PetGroup(String className, String type, boolean available) {
+        private static PetGroup of(Pet pet) {
+            return new PetGroup(pet.getPetClassName(), pet.getType(), pet.getAvailableBoolean());
+        }
+    }
 
     /**
      * Constructs an empty PetList.
      */
     public PetList() {
         this.pets = new ArrayList<Pet>();
+        rebuildPositions();
     }
 
     /**
@@ -28,17 +75,116 @@ public class PetList implements Serializable {
      */
     public PetList(ArrayList<Pet> pets) {
         this.pets = new ArrayList<Pet>(pets);
+        rebuildPositions();
+    }
+
+    /**
+     * Rebuilds the positions of the pets by their ids and the groups of the pets from the list of pets.
+     */
+    private void rebuildPositions() {
+        positions = new HashMap<Long, Integer>();
+        groups = new LinkedHashMap<PetGroup, LinkedHashSet<Pet>>();
+        groupOfPet = new IdentityHashMap<Pet, PetGroup>();
+        byName = new HashMap<PetName, ArrayList<Pet>>();
+        nameOfPet = new IdentityHashMap<Pet, PetName>();
+        for (int i = 0; i < pets.size(); i++) {
+            positions.put(pets.get(i).getId(), i);
+            indexPet(pets.get(i));
+        }
+    }
+
+    /**
+     * Adds a pet to its group and makes the list hear about changes of the pet.
+     *
+     * @param pet the pet to be added
+     */
+    private void indexPet(Pet pet) {
+        PetGroup group = PetGroup.of(pet);
+        groups.computeIfAbsent(group, key -> new LinkedHashSet<Pet>()).add(pet);
+        groupOfPet.put(pet, group);
+        PetName name = PetName.of(pet);
+        byName.computeIfAbsent(name, key -> new ArrayList<Pet>(1)).add(pet);
+        nameOfPet.put(pet, name);
+    }
+
+    /**
+     * Removes a pet from the group it was added to, even if its data has changed since.
+     *
+     * @param pet the pet to be removed
+     */
+    private void unindexPet(Pet pet) {
+        PetGroup group = groupOfPet.remove(pet);
+        if (group != null) {
+            groups.get(group).remove(pet);
+        }
+        PetName name = nameOfPet.remove(pet);
+        if (name != null) {
+            ArrayList<Pet> petsWithName = byName.get(name);
+            petsWithName.removeIf(indexed -> indexed == pet);
+            if (petsWithName.isEmpty()) {
+                byName.remove(name);
+            }
+        }
     }
 
     /**
-     * Adds a pet to the list.
+     * Reads the list from a file and rebuilds the positions of the pets, which are not saved.
+     *
+     * @param in the stream to read from
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        rebuildPositions();
+    }
+
+    /**
+     * Adds a pet to the list, unless the pet is already in it or its name is taken by another pet
+     * with the same class name and type.
      *
      * @param pet the pet to be added
+     * @return true if the pet was added, otherwise false
+     */
+    public synchronized boolean addPet(Pet pet) {
+        if(getIndex(pet) == -1 && !isNameTaken(pet, null)) {
+            addElement(pet);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a pet by its class name, type and name.
+     *
+     * @param className the class name of the pet, for example "Dog"
+     * @param type      "Kennel" or "For sale"
+     * @param name      the name of the pet
+     * @return the pet, or null if there is no such pet in the list
+     */
+    public synchronized Pet getPetByName(String className, String type, String name) {
+        ArrayList<Pet> petsWithName = byName.get(new PetName(className, type, name));
+        return petsWithName == null ? null : petsWithName.get(0);
+    }
+
+    /**
+     * Checks if the name of a pet is taken by another pet with the same class name and type.
+     *
+     * @param pet        the pet whose name is checked
+     * @param ignoredPet a pet which does not count, for example the pet being edited, or null
+     * @return true if the name is taken, otherwise false
      */
-    public void addPet(Pet pet) {
-        if(!pets.contains(pet)) {
-            pets.add(pet);
+    private boolean isNameTaken(Pet pet, Pet ignoredPet) {
+        ArrayList<Pet> petsWithName = byName.get(PetName.of(pet));
+        if (petsWithName == null) {
+            return false;
         }
+        for (Pet petWithName : petsWithName) {
+            if (!petWithName.equals(pet) && !petWithName.equals(ignoredPet)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -46,8 +192,11 @@ public class PetList implements Serializable {
      *
      * @param pet the pet to be removed
      */
-    public void removePet(Pet pet) {
-        pets.remove(pet);
+    public synchronized void removePet(Pet pet) {
+        int index = getIndex(pet);
+        if (index != -1) {
+            removeElement(index);
+        }
     }
 
     /**
@@ -56,18 +205,108 @@ public class PetList implements Serializable {
      * @param pet the pet whose index is to be retrieved
      * @return the index of the pet in the list, or  "-1" if not found
      */
-    public int getIndex(Pet pet) {
-        return pets.indexOf(pet);
+    public synchronized int getIndex(Pet pet) {
+        Integer index = positions.get(pet.getId());
+        return index == null ? -1 : index;
     }
 
     /**
-     * Edits an existing pet by replacing it with a new pet.
+     * Gets a pet by its id.
+     *
+     * @param id the id of the pet
+     * @return the pet with the id, or null if there is no such pet in the list
+     */
+    public synchronized Pet getPetById(long id) {
+        Integer index = positions.get(id);
+        return index == null ? null : pets.get(index);
+    }
+
+    /**
+     * Edits an existing pet by replacing it with a new pet, which takes over the id of the old one,
+     * so the sales and bookings of the pet show the new pet.
+     *
+     * The edit fails if the new name is taken by another pet with the same class name and type.
      *
      * @param petToEdit the pet to be edited
      * @param newPet    the new pet to replace the old one
+     * @return true if the pet was edited, otherwise false
+     */
+    public synchronized boolean editPet(Pet petToEdit, Pet newPet) {
+        if (isNameTaken(newPet, petToEdit)) {
+            return false;
+        }
+        int index = this.getIndex(petToEdit);
+        newPet.setId(petToEdit.getId());
+        setElement(index, newPet);
+        return true;
+    }
+
+    /**
+     * Changes the availability of a pet, so the pet moves to its new group and the change is counted like every
+     * other change of the list.
+     *
+     * @param pet       the pet to be changed
+     * @param available the new availability
+     */
+    public synchronized void setAvailable(Pet pet, boolean available) {
+        int index = getIndex(pet);
+        if (index != -1) {
+            Pet listedPet = pets.get(index); // may be another object equal to pet, for example from a sale
+            if (listedPet.getAvailableBoolean() != available) {
+                listedPet.setAvailable(available);
+                setElement(index, listedPet);
+            }
+        }
+        pet.setAvailable(available);
+    }
+
+    /**
+     * Gets the pets with a class name, type and availability. A null argument matches every value.
+     * The returned collection is a view of the list which cannot be changed and follows every change of the list,
+     * so nothing is copied. It must be used on the thread which changes the list, or while holding the lock of the list.
+     * The pets of one group come in the order they joined it.
+     *
+     * @param className the class name of the pets, for example "Dog", or null
+     * @param type      "Kennel" or "For sale", or null
+     * @param available the availability of the pets, or null
+     * @return a view of the matching pets
      */
-    public void editPet(Pet petToEdit, Pet newPet) {
-        pets.set(this.getIndex(petToEdit), newPet);
+    public Collection<Pet> getPets(String className, String type, Boolean available) {
+        return new PetView(className, type, available);
+    }
+
+    @Override
+    Pet getElement(int index) {
+        return pets.get(index);
+    }
+
+    @Override
+    synchronized void addElement(Pet pet) {
+        pets.add(pet);
+        positions.put(pet.getId(), pets.size() - 1);
+        indexPet(pet);
+        fireElementAdded(pets.size() - 1, pet);
+    }
+
+    @Override
+    synchronized void setElement(int index, Pet pet) {
+        Pet oldPet = pets.set(index, pet);
+        positions.remove(oldPet.getId());
+        positions.put(pet.getId(), index);
+        unindexPet(oldPet);
+        indexPet(pet);
+        fireElementChanged(index, oldPet, pet);
+    }
+
+    @Override
+    synchronized void removeElement(int index) {
+        Pet pet = pets.remove(index);
+        positions.remove(pet.getId());
+        unindexPet(pet);
+        for (int i = index; i < pets.size(); i++) {
+            positions.put(pets.get(i).getId(), i);
+        }
+        fireElementRemoved(index, pet);
     }
 
     /**
@@ -85,14 +324,8 @@ public class PetList implements Serializable {
      * @param className the class name to filter pets by
      * @return an ArrayList of Pet objects with entered className
      */
-    public ArrayList<Pet> getPetsByClassName(String className) {
-        ArrayList<Pet> petsWithClass = new ArrayList<Pet>();
-        for(Pet pet : pets) {
-            if(pet.getPetClassName().equals(className)) {
-                petsWithClass.add(pet);
-            }
-        }
-        return petsWithClass;
+    public synchronized ArrayList<Pet> getPetsByClassName(String className) {
+        return new ArrayList<Pet>(getPets(className, null, null));
     }
 
     /**
@@ -109,22 +342,6 @@ public class PetList implements Serializable {
         return petsListCopy;
     }
 
-    /**
-     * Retrieves a pet by its name from a  list.
-     *
-     * @param petsList the list of pets to search
-     * @param name     the name of the pet to find
-     * @return the Pet object with the specified name, or null if not found
-     */
-    public static Pet getPetByName(ArrayList<Pet> petsList, String name) {
-        for(Pet pet : petsList) {
-            if(pet.getName().equals(name)) {
-                return pet;
-            }
-        }
-        return null;
-    }
-
     /**
      * Filters pets that are marked as available from a list.
      *
@@ -141,4 +358,53 @@ public class PetList implements Serializable {
         }
         return availablePets;
     }
+
+    /**
+     * A view of the pets in the groups which match a class name, type and availability.
+     */
+    private class PetView extends AbstractCollection<Pet> {
+        private final String className; // null matches every class name
+        private final String type; // null matches every type
+        private final Boolean available; // null matches every availability
+
+        private PetView(String className, String type, Boolean available) {
+            this.className = className;
+            this.type = type;
+            this.available = available;
+        }
+
+        private boolean matches(PetGroup group) {
+            return (className == null || className.equals(group.className()))
+                    && (type == null || type.equals(group.type()))
+                    && (available == null || available == group.available());
+        }
+
+        @Override
+        public Iterator<Pet> iterator() {
+            return groups.entrySet().stream()
+                    .filter(group -> matches(group.getKey()))
+                    .flatMap(group -> group.getValue().stream())
+                    .iterator();
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Map.Entry<PetGroup, LinkedHashSet<Pet>> group : groups.entrySet()) {
+                if (matches(group.getKey())) {
+                    size += group.getValue().size();
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof Pet pet)) {
+                return false;
+            }
+            Pet listedPet = getPetById(pet.getId());
+            return listedPet != null && matches(groupOfPet.get(listedPet));
+        }
+    }
 }
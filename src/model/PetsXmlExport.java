@@ -0,0 +1,152 @@
+package model;
+
+import utils.FileManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A class which writes the XML file with the pets for sale shown on the website.
+ * The XML is written into one buffer, which is only written to the file when its contents have changed.
+ * The modification count of the pet list is remembered, so nothing is done at all when the pet list
+ * has not changed since the last export.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class PetsXmlExport {
+    public static final int PETS_SHOWN = 8; // the website shows at most this many pets
+    private static final int BYTES_PER_PET = 256; // enough for the XML of a usual pet, the buffer grows for more
+
+    private final String fileName; // the file the XML is written to
+    private PetList exportedList; // the pet list of the last export, null before the first export
+    private long exportedModificationCount; // the modification count of exportedList at the last export
+    private byte[] exportedXml; // the contents of the file after the last export, null if not known yet
+
+    /**
+     * Constructs an export writing to a file.
+     *
+     * @param fileName the name of the XML file
+     */
+    public PetsXmlExport(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Writes the pets which are for sale and available to the XML file, unless the file already holds them.
+     *
+     * @param petList the pet list to export
+     * @return true if the file was written, false if it did not have to change
+     * @throws IOException
+     */
+    public synchronized boolean export(PetList petList) throws IOException {
+        byte[] xml;
+        synchronized (petList) {
+            if (petList == exportedList && petList.getModificationCount() == exportedModificationCount) {
+                return false;
+            }
+            exportedList = petList;
+            exportedModificationCount = petList.getModificationCount();
+            xml = toXml(petList.getPets(null, "For sale", true)).getBytes(StandardCharsets.UTF_8);
+        }
+
+        if (exportedXml == null) {
+            try {
+                exportedXml = Files.readAllBytes(Paths.get(fileName)); // the file left by the last run
+            } catch (NoSuchFileException error) {
+                exportedXml = new byte[0];
+            }
+        }
+        if (Arrays.equals(xml, exportedXml)) {
+            return false;
+        }
+        FileManager.writeBytesToFile(fileName, ByteBuffer.wrap(xml));
+        exportedXml = xml;
+        return true;
+    }
+
+    /**
+     * Gets the contents of the XML file after the last export.
+     *
+     * @return the XML, or null if nothing was exported yet
+     */
+    public synchronized byte[] getExportedXml() {
+        return exportedXml;
+    }
+
+    /**
+     * Makes the XML for the first pets of a collection.
+     *
+     * @param pets the pets for sale
+     * @return the XML document
+     */
+    static String toXml(Collection<Pet> pets) {
+        int numberOfPets = Math.min(pets.size(), PETS_SHOWN);
+        StringBuilder xml = new StringBuilder(64 + numberOfPets * BYTES_PER_PET);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<pets>\n");
+        Iterator<Pet> iterator = pets.iterator();
+        for (int i = 0; i < numberOfPets && iterator.hasNext(); i++) {
+            Pet currentPet = iterator.next();
+            String species = switch (currentPet.getPetClassName()) {
+                case "Cat" -> ((Cat) currentPet).getBreed();
+                case "Dog" -> ((Dog) currentPet).getBreed();
+                case "Rodent" -> ((Rodent) currentPet).getSpecies();
+                case "Bird" -> ((Bird) currentPet).getSpecies();
+                case "Fish" -> ((Fish) currentPet).getSpecies();
+                default -> "";
+            };
+            xml.append('<').append(currentPet.getPetClassName()).append(">\n");
+            appendElement(xml, "species", species);
+            appendElement(xml, "name", currentPet.getName());
+            appendElement(xml, "age", Integer.toString(currentPet.getAge()));
+            appendElement(xml, "color", currentPet.getColor());
+            appendElement(xml, "gender", currentPet.getGender());
+            appendElement(xml, "price", Double.toString(currentPet.getPrice()));
+            xml.append("</").append(currentPet.getPetClassName()).append(">\n");
+        }
+        xml.append("</pets>\n");
+        return xml.toString();
+    }
+
+    private static void appendElement(StringBuilder xml, String tag, String text) {
+        xml.append("\t<").append(tag).append('>');
+        appendEscaped(xml, text);
+        xml.append("</").append(tag).append(">\n");
+    }
+
+    /**
+     * Appends a text, replacing the characters with a meaning in XML by entities
+     * and leaving out the characters which are not allowed in an XML document.
+     *
+     * @param xml  the XML being written
+     * @param text the text, or null for an empty text
+     */
+    static void appendEscaped(StringBuilder xml, String text) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            switch (character) {
+                case '<' -> xml.append("&lt;");
+                case '>' -> xml.append("&gt;");
+                case '&' -> xml.append("&amp;");
+                case '"' -> xml.append("&quot;");
+                case '\'' -> xml.append("&apos;");
+                default -> {
+                    if (character >= 0x20 || character == '\t' || character == '\n' || character == '\r') {
+                        xml.append(character);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.function.Function;
+
+/**
+ * A class which keeps, for the id of every pet or customer, the sales or bookings referring to it, so the sales
+ * and bookings of one pet or customer are found without going through the whole list. As a listener of the sale
+ * or booking list, the index follows every change of the list.
+ *
+ * @param <T> the type of the referring elements, Sale or KennelBooking
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+class ReferenceIndex<T> implements ModelListener<T> {
+    private final HashMap<Long, ArrayList<T>> elementsById; // the referring elements, by the id they refer to
+    private final Function<T, ? extends Entity> reference; // gets the pet or customer an element refers to
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param reference gets the pet or customer an element refers to, for example Sale::getPet
+     */
+    ReferenceIndex(Function<T, ? extends Entity> reference) {
+        this.elementsById = new HashMap<Long, ArrayList<T>>();
+        this.reference = reference;
+    }
+
+    /**
+     * Adds an element to the index.
+     *
+     * @param element the element
+     */
+    synchronized void add(T element) {
+        Entity referenced = reference.apply(element);
+        if (referenced != null) {
+            elementsById.computeIfAbsent(referenced.getId(), id -> new ArrayList<T>()).add(element);
+        }
+    }
+
+    /**
+     * Removes an element from the index.
+     *
+     * @param element the element
+     */
+    synchronized void remove(T element) {
+        Entity referenced = reference.apply(element);
+        if (referenced == null) {
+            return;
+        }
+        ArrayList<T> elements = elementsById.get(referenced.getId());
+        if (elements != null) {
+            elements.removeIf(indexed -> indexed == element);
+            if (elements.isEmpty()) {
+                elementsById.remove(referenced.getId());
+            }
+        }
+    }
+
+    /**
+     * Gets the elements referring to a pet or customer.
+     *
+     * @param id the id of the pet or customer
+     * @return an ArrayList with the elements, which does not change with the index
+     */
+    synchronized ArrayList<T> get(long id) {
+        ArrayList<T> elements = elementsById.get(id);
+        return elements == null ? new ArrayList<T>() : new ArrayList<T>(elements);
+    }
+
+    @Override
+    public void elementAdded(int index, T element) {
+        add(element);
+    }
+
+    @Override
+    public void elementChanged(int index, T oldElement, T newElement) {
+        remove(oldElement);
+        add(newElement);
+    }
+
+    @Override
+    public void elementRemoved(int index, T element) {
+        remove(element);
+    }
+}
@@ -0,0 +1,157 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class which runs actions on its own background thread when the date changes and after the lists change,
+ * used to keep the files made from the lists, like the free kennels for the website, up to date.
+ * <p>
+ * Actions after changes are debounced: they run once the list has not changed for a short time,
+ * so many changes in a row run the action only once.
+ * The date is checked at every midnight and also regularly in between, because the timer of a computer
+ * which was asleep can be late.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class RefreshScheduler {
+    private static final long DATE_CHECK_PERIOD = 10; // minutes between checks whether the date has changed
+    private static final long MIDNIGHT_DELAY = 1000; // milliseconds after midnight the date is checked
+
+    private final ScheduledExecutorService executor;
+    private final long debounceDelay; // milliseconds a list has to stay unchanged before its actions run
+    private final ArrayList<Runnable> dailyActions; // actions run when the date changes
+    private LocalDate today; // the date the daily actions last ran for
+
+    /**
+     * Constructs a scheduler and starts its thread.
+     *
+     * @param debounceDelay the number of milliseconds a list has to stay unchanged before the actions for it run
+     */
+    public RefreshScheduler(long debounceDelay) {
+        this.debounceDelay = debounceDelay;
+        this.dailyActions = new ArrayList<Runnable>();
+        this.today = LocalDate.now();
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "VIAPets refresh scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::checkDate, DATE_CHECK_PERIOD, DATE_CHECK_PERIOD, TimeUnit.MINUTES);
+        scheduleMidnight();
+    }
+
+    /**
+     * Runs an action every time the date changes.
+     *
+     * @param action the action to run
+     */
+    public synchronized void runDaily(Runnable action) {
+        dailyActions.add(action);
+    }
+
+    /**
+     * Runs an action after a list has changed, once it has not changed for the debounce delay.
+     *
+     * @param list   the list to listen to
+     * @param action the action to run
+     */
+    public <T> void runAfterChanges(ModelList<T> list, Runnable action) {
+        list.addListener(new DebouncedAction<T>(action));
+    }
+
+    /**
+     * Stops the thread of the scheduler. Actions which are waiting do not run.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleMidnight() {
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+        long delay = Duration.between(now, midnight).toMillis() + MIDNIGHT_DELAY;
+        executor.schedule(() -> {
+            checkDate();
+            scheduleMidnight();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs the daily actions if the date is not the one they last ran for.
+     */
+    private void checkDate() {
+        ArrayList<Runnable> actions;
+        synchronized (this) {
+            LocalDate now = LocalDate.now();
+            if (now.equals(today)) {
+                return;
+            }
+            today = now;
+            actions = new ArrayList<Runnable>(dailyActions);
+        }
+        for (Runnable action : actions) {
+            run(action);
+        }
+    }
+
+    private static void run(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException error) {
+            System.err.println("Error refreshing data: " + error);
+            error.printStackTrace();
+        }
+    }
+
+    /**
+     * A listener which runs an action once its list has stopped changing.
+     */
+    private class DebouncedAction<T> implements ModelListener<T> {
+        private final Runnable action;
+        private ScheduledFuture<?> pending; // the waiting run of the action, null if there is none
+
+        private DebouncedAction(Runnable action) {
+            this.action = action;
+        }
+
+        private synchronized void changed() {
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            pending = executor.schedule(() -> {
+                synchronized (this) {
+                    pending = null;
+                }
+                run(action);
+            }, debounceDelay, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void elementAdded(int index, T element) {
+            changed();
+        }
+
+        @Override
+        public void elementChanged(int index, T oldElement, T newElement) {
+            changed();
+        }
+
+        @Override
+        public void elementRemoved(int index, T element) {
+            changed();
+        }
+
+        @Override
+        public void listChanged() {
+            changed();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Objects;
+
 /**
  * A class representing a rodent, extending the Pet class.
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
@@ -8,6 +10,7 @@ package model;
 
 public class Rodent extends Pet
 {
+    private static final long serialVersionUID = -772409523955827919L;
     // Private instance variables for rodent
     private boolean doTheyBite;// if the rodent bites or not
     private String species;// name of the rodent species
@@ -97,12 +100,13 @@ public class Rodent extends Pet
     }
 
     /**
-     * Equals method inheriting from Pet class to compare if rodents objects are the same.
-     * @param object Object to compare.
-     * @return True if the rodents are the same, false if they're not.
+     * Compares all the data of two rodents, but not their ids, inheriting from Pet class.
+     * @param object Pet to compare.
+     * @return True if the rodents have the same data, false if they don't.
      */
 
-    public boolean equals(Object object)
+    @Override
+    public boolean hasSameData(Pet object)
     {
         // Check if the object is null or of a different class
         if (object==null || getClass() != object.getClass())
@@ -112,7 +116,7 @@ public class Rodent extends Pet
         // makes a copy
         Rodent newRodent = (Rodent) object;
         // compare instance variables for equality
-        return super.equals(newRodent) && doTheyBite == newRodent.doTheyBite && this.species.equals(newRodent.getSpecies());
+        return super.hasSameData(newRodent) && doTheyBite == newRodent.doTheyBite && Objects.equals(this.species, newRodent.getSpecies());
     }
 
     /**
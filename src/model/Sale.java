@@ -1,5 +1,7 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
@@ -11,9 +13,11 @@ import java.io.Serializable;
  * @version 1.0 - December 2024
  */
 
-public class Sale implements Serializable {
-    private Customer customer;
-    private Pet pet;
+public class Sale implements Serializable, Entity {
+    private static final long serialVersionUID = -2697480640661442736L;
+    private long id; // never changes
+    private Customer customer; // shared with the customer list, linked by its id
+    private Pet pet; // shared with the pet list, linked by its id
     private double price;
     private Date date;
     /**
@@ -27,11 +31,48 @@ public class Sale implements Serializable {
 
     public Sale(Customer customer, Pet pet, double price, Date date)
     {
+        this.id = EntityIds.next();
         this.customer = customer;
         this.pet = pet;
         this.price = price;
         this.date = date;
     }
+    /**
+     * Reads the sale from a file, giving it a new id if it was saved before sales had ids.
+     *
+     * @param in the stream to read from
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        if (id == 0) {
+            id = EntityIds.next();
+        } else {
+            EntityIds.reserve(id);
+        }
+    }
+    /**
+     * Gets the id of the sale.
+     *
+     * @return id
+     */
+    @Override
+    public long getId()
+    {
+        return id;
+    }
+    /**
+     * Sets the id of the sale, used when the sale is read from a file or takes the place of another sale.
+     *
+     * @param id
+     */
+    void setId(long id)
+    {
+        EntityIds.reserve(id);
+        this.id = id;
+    }
     /**
      * Gets the customer involved in the sale.
      *
@@ -121,20 +162,28 @@ public class Sale implements Serializable {
     }
     /**
      * Equals method to compare sale for equality.
+     * Sales are equal when they have the same id.
      *
      * @param obj Object to compare.
      * @return True if the sales are equal, false if they're not.
      */
-
+    @Override
     public boolean equals(Object obj)
     {
-        if(obj == null || obj.getClass() != this.getClass()) // Check if the object is null or of a different class
+        if (this == obj)
         {
-            return false;
+            return true;
         }
-
-        Sale kennelBookingCompare = (Sale) obj; // makes a copy
-
-        return this.getCustomer().equals(kennelBookingCompare.getCustomer()) && this.getPet().equals(kennelBookingCompare.getPet()) && this.getPrice() == kennelBookingCompare.getPrice() && this.getDate().equals(kennelBookingCompare.getDate()); // compare instance variables for equality
+        return obj instanceof Sale sale && id == sale.id;
+    }
+    /**
+     * Hash code method consistent with equals.
+     *
+     * @return the hash code of the id
+     */
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(id);
     }
 }
@@ -1,7 +1,10 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 
 /**
  * A class representing a list of sales.
@@ -11,14 +14,17 @@ import java.util.ArrayList;
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0 - December 2024
  */
-public class SaleList implements Serializable {
+public class SaleList extends ModelList<Sale> implements Serializable {
+    private static final long serialVersionUID = -6431761170622875443L;
     private ArrayList<Sale> sales; //ArrayList to store all sales
+    private transient HashMap<Long, Integer> positions; //index of every sale by its id, rebuilt after reading from a file
 
     /**
      * Constructs an empty SaleList.
      */
     public SaleList() {
         this.sales = new ArrayList<Sale>();
+        rebuildPositions();
     }
 
     /**
@@ -28,6 +34,29 @@ public class SaleList implements Serializable {
      */
     public SaleList(ArrayList<Sale> sales) {
         this.sales = new ArrayList<Sale>(sales);
+        rebuildPositions();
+    }
+
+    /**
+     * Rebuilds the positions of the sales by their ids from the list of sales.
+     */
+    private void rebuildPositions() {
+        positions = new HashMap<Long, Integer>();
+        for (int i = 0; i < sales.size(); i++) {
+            positions.put(sales.get(i).getId(), i);
+        }
+    }
+
+    /**
+     * Reads the list from a file and rebuilds the positions of the sales, which are not saved.
+     *
+     * @param in the stream to read from
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        rebuildPositions();
     }
 
     /**
@@ -44,8 +73,10 @@ public class SaleList implements Serializable {
      *
      * @param sale the sale to be added
      */
-    public void addSale(Sale sale) {
-        sales.add(sale);
+    public synchronized void addSale(Sale sale) {
+        if (getIndex(sale) == -1) {
+            addElement(sale);
+        }
     }
 
     /**
@@ -53,8 +84,11 @@ public class SaleList implements Serializable {
      *
      * @param sale the sale to be removed
      */
-    public void removeSale(Sale sale) {
-        sales.remove(sale);
+    public synchronized void removeSale(Sale sale) {
+        int index = getIndex(sale);
+        if (index != -1) {
+            removeElement(index);
+        }
     }
 
     /**
@@ -63,17 +97,50 @@ public class SaleList implements Serializable {
      * @param sale the sale whose index is to be retrieved
      * @return the index of the sale in the list, or "-1" if not found
      */
-    public int getIndex(Sale sale) {
-        return sales.indexOf(sale);
+    public synchronized int getIndex(Sale sale) {
+        Integer index = positions.get(sale.getId());
+        return index == null ? -1 : index;
     }
 
     /**
-     * Edits an existing sale by replacing it with a new sale.
+     * Edits an existing sale by replacing it with a new sale, which takes over the id of the old one.
      *
      * @param saleToEdit the sale to be edited
      * @param newSale    the new sale to replace the old one
      */
-    public void editSale(Sale saleToEdit, Sale newSale) {
-        sales.set(this.getIndex(saleToEdit), newSale);
+    public synchronized void editSale(Sale saleToEdit, Sale newSale) {
+        int index = this.getIndex(saleToEdit);
+        newSale.setId(saleToEdit.getId());
+        setElement(index, newSale);
+    }
+
+    @Override
+    Sale getElement(int index) {
+        return sales.get(index);
+    }
+
+    @Override
+    synchronized void addElement(Sale sale) {
+        sales.add(sale);
+        positions.put(sale.getId(), sales.size() - 1);
+        fireElementAdded(sales.size() - 1, sale);
+    }
+
+    @Override
+    synchronized void setElement(int index, Sale sale) {
+        Sale oldSale = sales.set(index, sale);
+        positions.remove(oldSale.getId());
+        positions.put(sale.getId(), index);
+        fireElementChanged(index, oldSale, sale);
+    }
+
+    @Override
+    synchronized void removeElement(int index) {
+        Sale sale = sales.remove(index);
+        positions.remove(sale.getId());
+        for (int i = index; i < sales.size(); i++) {
+            positions.put(sales.get(i).getId(), i);
+        }
+        fireElementRemoved(index, sale);
     }
 }
@@ -1,27 +1,49 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiPredicate;
+
 /**
  *  A class containing all the list objects needed in the application.
  *  This class serves as a central container for managing instances of BookingList,  CustomerList,
  *  PetList, and  SaleList, making it easier to manage all lists within the application.
+ *  Every list is kept behind a future, so the lists can still be loading when the object is created;
+ *  a getter waits only for its own list.
  *
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0
  */
 public class VIAPets {
-    private BookingList bookingList; //List of bookings
-    private CustomerList customerList; //list of customers
-    private PetList petList; //List of pets
-    private SaleList saleList; //List of sales
+    private CompletableFuture<BookingList> bookingList; //List of bookings
+    private CompletableFuture<CustomerList> customerList; //list of customers
+    private CompletableFuture<PetList> petList; //List of pets
+    private CompletableFuture<SaleList> saleList; //List of sales
 
 /**
  * No-argument constructor which creates empty list objects
  */
     public VIAPets() {
-        bookingList = new BookingList();
-        customerList = new CustomerList();
-        petList = new PetList();
-        saleList = new SaleList();
+        bookingList = CompletableFuture.completedFuture(new BookingList());
+        customerList = CompletableFuture.completedFuture(new CustomerList());
+        petList = CompletableFuture.completedFuture(new PetList());
+        saleList = CompletableFuture.completedFuture(new SaleList());
+    }
+
+/**
+ * Constructor for lists which are still being loaded.
+ *
+ * @param bookingList  the future booking list
+ * @param customerList the future customer list
+ * @param petList      the future pet list
+ * @param saleList     the future sale list
+ */
+    public VIAPets(CompletableFuture<BookingList> bookingList, CompletableFuture<CustomerList> customerList,
+                   CompletableFuture<PetList> petList, CompletableFuture<SaleList> saleList) {
+        this.bookingList = bookingList;
+        this.customerList = customerList;
+        this.petList = petList;
+        this.saleList = saleList;
     }
 
     /**
@@ -30,7 +52,7 @@ public class VIAPets {
     * @param bookingList the new object
     */
     public void setBookingList(BookingList bookingList) {
-        this.bookingList = bookingList;
+        this.bookingList = CompletableFuture.completedFuture(bookingList);
     }
 
     /**
@@ -39,7 +61,7 @@ public class VIAPets {
     * @param customerList the new object
     */
     public void setCustomerList(CustomerList customerList) {
-        this.customerList = customerList;
+        this.customerList = CompletableFuture.completedFuture(customerList);
     }
     /**
      * Changes the pet list to a different object.
@@ -47,7 +69,7 @@ public class VIAPets {
      * @param petList the new object
      */
     public void setPetList(PetList petList) {
-        this.petList = petList;
+        this.petList = CompletableFuture.completedFuture(petList);
     }
     /**
      * Changes the pet list to a different object.
@@ -55,7 +77,7 @@ public class VIAPets {
      * @param saleList the new object
      */
     public void setSaleList(SaleList saleList) {
-        this.saleList = saleList;
+        this.saleList = CompletableFuture.completedFuture(saleList);
     }
     /**
      * Gets the current booking list.
@@ -63,7 +85,7 @@ public class VIAPets {
      * @return the BookingList object
      */
     public BookingList getBookingList() {
-        return bookingList;
+        return bookingList.join();
     }
     /**
      * Gets the current customer list.
@@ -72,7 +94,7 @@ public class VIAPets {
      */
 
     public CustomerList getCustomerList() {
-        return customerList;
+        return customerList.join();
     }
     /**
      * Gets the current pet list.
@@ -82,7 +104,7 @@ public class VIAPets {
 
     public PetList getPetList()
     {
-        return petList;
+        return petList.join();
     }
     /**
      * Gets the current sale list.
@@ -91,7 +113,156 @@ public class VIAPets {
      */
 
     public SaleList getSaleList() {
-        return saleList;
+        return saleList.join();
+    }
+
+    /**
+     * Gets a future which is completed when the booking list is loaded.
+     *
+     * @return the future booking list
+     */
+    public CompletableFuture<BookingList> getLoadedBookingList() {
+        return bookingList;
+    }
+
+    /**
+     * Gets a future which is completed when the pet list is loaded.
+     *
+     * @return the future pet list
+     */
+    public CompletableFuture<PetList> getLoadedPetList() {
+        return petList;
     }
 
+    /**
+     * Gets a future which is completed when all lists are loaded.
+     *
+     * @return the future
+     */
+    public CompletableFuture<Void> getLoaded() {
+        return CompletableFuture.allOf(bookingList, customerList, petList, saleList);
+    }
+
+    /**
+     * Makes every sale and booking use the pet and customer objects of the pet and customer lists, found by their ids
+     * through an identity map, and keeps them doing so when a pet or a customer is edited. The sales and bookings
+     * of a pet or customer are found through an index by its id, so an edit does not go through all of them.
+     * A pet or customer whose id is not in the lists is linked to the pet or customer with the same data:
+     * files saved before entities had ids give the pets and customers new ids every time they are read,
+     * so a sale or booking saved in between still holds the ids of an earlier run.
+     * Pets and customers which are no longer in the lists are shared by all sales and bookings with the same id.
+     */
+    void linkReferences() {
+        PetList petList = getPetList();
+        CustomerList customerList = getCustomerList();
+        SaleList saleList = getSaleList();
+        BookingList bookingList = getBookingList();
+
+        ReferenceIndex<Sale> salesByPet = new ReferenceIndex<Sale>(Sale::getPet);
+        ReferenceIndex<Sale> salesByCustomer = new ReferenceIndex<Sale>(Sale::getCustomer);
+        ReferenceIndex<KennelBooking> bookingsByPet = new ReferenceIndex<KennelBooking>(KennelBooking::getPet);
+        ReferenceIndex<KennelBooking> bookingsByCustomer = new ReferenceIndex<KennelBooking>(KennelBooking::getCustomer);
+
+        // no pet or customer can change until the sales and bookings are linked and indexed
+        synchronized (petList) {
+            synchronized (customerList) {
+                ArrayList<Pet> pets = petList.getAllPets();
+                ArrayList<Customer> customers = customerList.getCustomers();
+                IdentityMap<Pet> petMap = new IdentityMap<Pet>();
+                IdentityMap<Customer> customerMap = new IdentityMap<Customer>();
+                pets.forEach(petMap::put);
+                customers.forEach(customerMap::put);
+
+                synchronized (saleList) {
+                    for (Sale sale : saleList.getSales()) {
+                        sale.setPet(link(petMap, pets, sale.getPet(), Pet::hasSameData));
+                        sale.setCustomer(link(customerMap, customers, sale.getCustomer(), Customer::hasSameData));
+                        salesByPet.add(sale);
+                        salesByCustomer.add(sale);
+                    }
+                    saleList.addListener(salesByPet);
+                    saleList.addListener(salesByCustomer);
+                }
+                synchronized (bookingList) {
+                    for (KennelBooking booking : bookingList.getBookings()) {
+                        booking.setPet(link(petMap, pets, booking.getPet(), Pet::hasSameData));
+                        booking.setCustomer(link(customerMap, customers, booking.getCustomer(), Customer::hasSameData));
+                        bookingsByPet.add(booking);
+                        bookingsByCustomer.add(booking);
+                    }
+                    bookingList.addListener(bookingsByPet);
+                    bookingList.addListener(bookingsByCustomer);
+                }
+
+                petList.addListener(new ReferenceUpdater<Pet>() {
+                    @Override
+                    public void elementChanged(int index, Pet oldPet, Pet newPet) {
+                        synchronized (saleList) {
+                            for (Sale sale : salesByPet.get(newPet.getId())) {
+                                sale.setPet(newPet);
+                            }
+                        }
+                        synchronized (bookingList) {
+                            for (KennelBooking booking : bookingsByPet.get(newPet.getId())) {
+                                booking.setPet(newPet);
+                            }
+                        }
+                    }
+                });
+                customerList.addListener(new ReferenceUpdater<Customer>() {
+                    @Override
+                    public void elementChanged(int index, Customer oldCustomer, Customer newCustomer) {
+                        synchronized (saleList) {
+                            for (Sale sale : salesByCustomer.get(newCustomer.getId())) {
+                                sale.setCustomer(newCustomer);
+                            }
+                        }
+                        synchronized (bookingList) {
+                            for (KennelBooking booking : bookingsByCustomer.get(newCustomer.getId())) {
+                                booking.setCustomer(newCustomer);
+                            }
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Finds the object kept for an entity in the identity map.
+     *
+     * @param map      the identity map
+     * @param listed   the entities of the list, searched by data when the id of the entity is not in the map
+     * @param entity   the entity to find
+     * @param sameData compares the data of two entities
+     * @return the object kept for the entity
+     */
+    private static <T extends Entity> T link(IdentityMap<T> map, ArrayList<T> listed, T entity, BiPredicate<T, T> sameData) {
+        if (entity == null) {
+            return null;
+        }
+        T known = map.get(entity.getId());
+        if (known == null) {
+            for (T candidate : listed) {
+                if (sameData.test(candidate, entity)) {
+                    known = candidate;
+                    break;
+                }
+            }
+        }
+        return known == null ? map.intern(entity) : known;
+    }
+
+    /**
+     * A listener which only reacts to changed elements.
+     */
+    private abstract static class ReferenceUpdater<T> implements ModelListener<T> {
+        @Override
+        public void elementAdded(int index, T element) {
+        }
+
+        @Override
+        public void elementRemoved(int index, T element) {
+        }
+    }
 }
@@ -2,9 +2,14 @@ package model;
 
 import utils.FileManager;
 
-import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
 * A class containing a VIAPets object and the methods necessary to read and write its elements to files
@@ -12,62 +17,297 @@ import java.util.ArrayList;
 * @version 1.0
 */
 public abstract class VIAPetsModelManager {
+    public static final String PETS_FILE = "savedInformation/pets.bin";
+    public static final String SALES_FILE = "savedInformation/sales.bin";
+    public static final String BOOKINGS_FILE = "savedInformation/bookings.bin";
+    public static final String CUSTOMERS_FILE = "savedInformation/customers.bin";
+    public static final String PETS_XML_FILE = "savedInformation/petsForWebsite.xml";
+    public static final String FREE_SPACE_FILE = "savedInformation/getFreeSpace.txt";
+    public static final String AVAILABILITY_FILE = "savedInformation/availability.json";
+    public static final String CAPACITY_FILE = "savedInformation/capacity.bin";
+    private static final long FLUSH_INTERVAL = 500; // milliseconds changes are collected before the files are written
+    private static final long REFRESH_DELAY = 1000; // milliseconds the bookings have to stay unchanged before the website files are made again
+    // start with -Dviapets.persistence=journal to save changes in a journal instead of rewriting the whole files
+    private static final boolean JOURNALED = "journal".equals(System.getProperty("viapets.persistence"));
+    // start with -Dviapets.website.port=8080 to serve the pets and free kennels to the website over HTTP
+    private static final String WEBSITE_PORT = System.getProperty("viapets.website.port");
     private static VIAPets viaPets;
+    private static volatile PersistenceJournal journal; // null when the whole files are rewritten after every change
+    private static volatile WebsiteServer websiteServer; // null when the website only reads the files
+    private static final PersistenceWriter writer = new PersistenceWriter(FLUSH_INTERVAL); // saves the files in the background
+    private static final RefreshScheduler refresher = new RefreshScheduler(REFRESH_DELAY); // keeps the website files up to date
+    private static final PetsXmlExport petsXmlExport = new PetsXmlExport(PETS_XML_FILE); // writes the pets for the website
+    private static final Map<String, Long> loadTimes = new ConcurrentHashMap<String, Long>(); // milliseconds to read every file
 
 /**
- * The static code below reads all the data stored in files and puts it into the VIAPets object
+ * The static code below starts reading all the data stored in files into the VIAPets object.
+ * The four files are read in parallel, so the windows can be shown before the data is there. The pets and customers
+ * can be used as soon as their own file is read, the sales and bookings once they are linked to those pets and customers. The website files are written afterwards
+ * by the background writer, and made again after the bookings change and when the date changes.
  */
     static
     {
-        viaPets = new VIAPets();
-        try{
-            Object pets = FileManager.readFromBinaryFile("savedInformation/pets.bin");
-            if (pets != null && pets.getClass() == viaPets.getPetList().getClass()) {
-                PetList petsCopy = (PetList) pets;
-                viaPets.setPetList(petsCopy);
-                updatePetsXML();
+        long startTime = System.nanoTime();
+        ExecutorService loader = Executors.newFixedThreadPool(4, task -> {
+            Thread thread = new Thread(task, "VIAPets loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<PetList> pets = CompletableFuture.supplyAsync(() -> readList(PETS_FILE, PetList.class, new PetList()), loader);
+        CompletableFuture<SaleList> sales = CompletableFuture.supplyAsync(() -> readList(SALES_FILE, SaleList.class, new SaleList()), loader);
+        CompletableFuture<BookingList> bookings = CompletableFuture.supplyAsync(() -> readCapacity(readList(BOOKINGS_FILE, BookingList.class, new BookingList())), loader);
+        CompletableFuture<CustomerList> customers = CompletableFuture.supplyAsync(() -> readList(CUSTOMERS_FILE, CustomerList.class, new CustomerList()), loader);
+
+        VIAPets snapshot = new VIAPets(bookings, customers, pets, sales);
+        CompletableFuture<Void> linked = snapshot.getLoaded().thenRun(() -> {
+            if (JOURNALED) {
+                try {
+                    journal = new PersistenceJournal(snapshot);
+                    journal.open();
+                } catch (IOException | ClassNotFoundException error) {
+                    System.out.println("Error reading journal");
+                    journal = null;
+                }
             }
-        }catch(IOException | ClassNotFoundException error){
-            System.out.println("Error reading file");
+            snapshot.linkReferences();
+        });
+        if (JOURNALED) {
+            // the journal can change every list, so no list is ready before the journal is replayed
+            viaPets = new VIAPets(linked.thenApply(done -> snapshot.getBookingList()),
+                    linked.thenApply(done -> snapshot.getCustomerList()),
+                    linked.thenApply(done -> snapshot.getPetList()),
+                    linked.thenApply(done -> snapshot.getSaleList()));
+        } else {
+            // sales and bookings are ready once they are linked to the pets and customers
+            viaPets = new VIAPets(linked.thenApply(done -> snapshot.getBookingList()), customers, pets,
+                    linked.thenApply(done -> snapshot.getSaleList()));
         }
 
-        try{
-            Object sales = FileManager.readFromBinaryFile("savedInformation/sales.bin");
-            if (sales != null && sales.getClass() == viaPets.getSaleList().getClass()) {
-                SaleList salesCopy = (SaleList) sales;
-                viaPets.setSaleList(salesCopy);
-            }
-        }catch(IOException | ClassNotFoundException error){
-            System.out.println("Error reading file");
+        viaPets.getLoadedPetList().thenRun(() -> writer.markDirty(PETS_XML_FILE, VIAPetsModelManager::updatePetsXML));
+        viaPets.getLoadedBookingList().thenRun(() -> {
+            refreshBookingFiles();
+            refresher.runAfterChanges(viaPets.getBookingList(), VIAPetsModelManager::refreshBookingFiles);
+        });
+        viaPets.getLoaded().thenRun(() -> refresher.runDaily(VIAPetsModelManager::refreshWebsiteFiles));
+        if (WEBSITE_PORT != null) {
+            viaPets.getLoaded().thenRun(VIAPetsModelManager::startWebsiteServer);
+        }
+        viaPets.getLoaded().thenRun(() -> {
+            loader.shutdown();
+            System.out.println("Loaded all data in " + (System.nanoTime() - startTime) / 1000000 + " ms");
+        });
+    }
+
+/**
+ * Marks the files made from the bookings to be written again by the background writer.
+ */
+    private static void refreshBookingFiles()
+    {
+        writer.markDirty(FREE_SPACE_FILE, VIAPetsModelManager::updateGetFreeSpaceToday);
+        writer.markDirty(AVAILABILITY_FILE, VIAPetsModelManager::updateAvailabilityFile);
+    }
+
+/**
+ * Marks all files for the website to be written again by the background writer, called when the date changes.
+ */
+    private static void refreshWebsiteFiles()
+    {
+        refreshBookingFiles();
+        writer.markDirty(PETS_XML_FILE, VIAPetsModelManager::updatePetsXML);
+    }
+
+/**
+ * Starts the HTTP server for the website on the port given by the viapets.website.port property.
+ * The application works without the server when it cannot be started.
+ */
+    private static void startWebsiteServer()
+    {
+        try {
+            WebsiteServer server = new WebsiteServer(viaPets, Integer.parseInt(WEBSITE_PORT));
+            server.start();
+            websiteServer = server;
+            System.out.println("Serving the website data on port " + server.getPort());
+        } catch (IOException | NumberFormatException error) {
+            System.out.println("Error starting the website server");
         }
+    }
 
+/**
+ * Reads one list from its .bin file and prints how long it took.
+ *
+ * @param fileName  the file of the list
+ * @param listClass the class of the list
+ * @param emptyList the list to use when the file cannot be read
+ * @return the list read from the file, or emptyList
+ */
+    private static <T> T readList(String fileName, Class<T> listClass, T emptyList)
+    {
+        long startTime = System.nanoTime();
+        T list = emptyList;
         try{
-            Object bookings = FileManager.readFromBinaryFile("savedInformation/bookings.bin");
-            if (bookings != null && bookings.getClass() == viaPets.getBookingList().getClass()) {
-                BookingList bookingsCopy = (BookingList) bookings;
-                viaPets.setBookingList(bookingsCopy);
+            Object savedList = FileManager.readFromBinaryFileWithBackups(fileName, ModelCodec::decode);
+            if (savedList != null && savedList.getClass() == listClass) {
+                list = listClass.cast(savedList);
             }
         }catch(IOException | ClassNotFoundException error){
             System.out.println("Error reading file");
         }
+        long time = (System.nanoTime() - startTime) / 1000000;
+        loadTimes.put(fileName, time);
+        System.out.println("Loaded " + fileName + " in " + time + " ms");
+        return list;
+    }
 
-        try{
-            Object customers = FileManager.readFromBinaryFile("savedInformation/customers.bin");
-            if (customers != null && customers.getClass() == viaPets.getCustomerList().getClass()) {
-                CustomerList customersCopy = (CustomerList) customers;
-                viaPets.setCustomerList(customersCopy);
+/**
+ * Reads the number of kennels for every kind of pet from its file into a booking list.
+ * Without the file, all pets keep sharing the default kennels.
+ *
+ * @param bookingList the booking list
+ * @return the booking list
+ */
+    private static BookingList readCapacity(BookingList bookingList)
+    {
+        try {
+            Object capacity = FileManager.readFromBinaryFileWithBackups(CAPACITY_FILE, ModelCodec::decode);
+            if (capacity instanceof KennelCapacity kennelCapacity) {
+                bookingList.setCapacity(kennelCapacity);
             }
-        }catch(IOException | ClassNotFoundException error){
+        } catch (FileNotFoundException error) {
+            // no kennels were configured yet
+        } catch (IOException | ClassNotFoundException error) {
             System.out.println("Error reading file");
         }
+        return bookingList;
+    }
+
+/**
+ * Reads all the lists stored in the .bin files into a new VIAPets object.
+ * A list whose file cannot be read stays empty.
+ *
+ * @return a VIAPets object with the saved lists
+ */
+    static VIAPets readSnapshot()
+    {
+        VIAPets snapshot = new VIAPets();
+        snapshot.setPetList(readList(PETS_FILE, PetList.class, new PetList()));
+        snapshot.setSaleList(readList(SALES_FILE, SaleList.class, new SaleList()));
+        snapshot.setBookingList(readCapacity(readList(BOOKINGS_FILE, BookingList.class, new BookingList())));
+        snapshot.setCustomerList(readList(CUSTOMERS_FILE, CustomerList.class, new CustomerList()));
+        return snapshot;
+    }
+
+/**
+ * Checks if all lists are loaded.
+ *
+ * @return true if all lists are loaded, otherwise false
+ */
+    public static boolean isLoaded() {
+        return viaPets.getLoaded().isDone();
+    }
+
+/**
+ * Runs an action once all lists are loaded, right away if they already are.
+ * The action may run on the thread which loaded the last list.
+ *
+ * @param action the action to run
+ */
+    public static void whenLoaded(Runnable action) {
+        viaPets.getLoaded().thenRun(action);
+    }
+
+/**
+ * Gets how many milliseconds it took to read every file, the last time it was read.
+ *
+ * @return a map from the file name to the reading time in milliseconds
+ */
+    public static Map<String, Long> getLoadTimes() {
+        return loadTimes;
+    }
+
+/**
+ * Writes all the lists of a VIAPets object to the .bin files.
+ *
+ * @param snapshot the object whose lists are written
+ * @throws IOException
+ */
+    static void writeSnapshot(VIAPets snapshot) throws IOException
+    {
+        FileManager.writeBytesToBinaryFile(PETS_FILE, ModelCodec.encode(snapshot.getPetList()));
+        FileManager.writeBytesToBinaryFile(SALES_FILE, ModelCodec.encode(snapshot.getSaleList()));
+        FileManager.writeBytesToBinaryFile(BOOKINGS_FILE, ModelCodec.encode(snapshot.getBookingList()));
+        FileManager.writeBytesToBinaryFile(CUSTOMERS_FILE, ModelCodec.encode(snapshot.getCustomerList()));
+    }
+
+
+/**
+ * Marks a list to be saved by the background writer: in journal mode the journal already holds the change
+ * and only has to reach the disk, otherwise the whole list is written to its file.
+ * Many changes in a short time end up in one write.
+ *
+ * @param fileName the file of the list
+ * @param list     the list to save
+ * @throws IOException
+ */
+    private static void saveList(String fileName, ModelList<?> list) throws IOException {
+        if (journal != null && !journal.isBroken()) {
+            writer.markDirty(PersistenceJournal.JOURNAL_FILE, journal::sync);
+        } else {
+            writer.markDirty(fileName, () -> {
+                ByteBuffer bytes;
+                synchronized (list) {
+                    bytes = ModelCodec.encode(list); // the list cannot change while it is encoded
+                }
+                FileManager.writeBytesToBinaryFile(fileName, bytes);
+            });
+        }
+    }
 
+/**
+ * Saves every list to its own file, called by the journal once it cannot be written any more.
+ * From then on the whole files are written after every change, as without a journal, and the records the
+ * journal already holds are older than the files, so they are skipped when the journal is replayed.
+ *
+ * @param lists the lists of the journal
+ */
+    static void saveAllLists(VIAPets lists)
+    {
         try {
-            updateGetFreeSpaceToday();
+            saveList(PETS_FILE, lists.getPetList());
+            saveList(SALES_FILE, lists.getSaleList());
+            saveList(BOOKINGS_FILE, lists.getBookingList());
+            saveList(CUSTOMERS_FILE, lists.getCustomerList());
         } catch (IOException error) {
-            System.out.println("Error writing to file");
+            throw new RuntimeException(error);
         }
     }
 
+/**
+ * Gets the number of files waiting to be written by the background writer.
+ *
+ * @return the number of pending writes
+ */
+    public static int getPendingWrites() {
+        return writer.getPendingWrites();
+    }
+
+/**
+ * Stops refreshing the website files and the website server, writes all changes which are still waiting and closes the journal,
+ * called when the application stops.
+ */
+    public static void close() {
+        refresher.shutdown();
+        if (websiteServer != null) {
+            websiteServer.stop();
+        }
+        writer.shutdown();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException error) {
+                System.out.println("Error writing to file");
+            }
+        }
+    }
 
 /**
  * Updates the pets.bin file with the pet data currently stored in viaPets
@@ -75,8 +315,8 @@ public abstract class VIAPetsModelManager {
  */
     public static void updatePetsFile() throws IOException {
         try {
-            FileManager.writeToBinaryFile("savedInformation/pets.bin", viaPets.getPetList());
-            updatePetsXML();
+            saveList(PETS_FILE, viaPets.getPetList());
+            writer.markDirty(PETS_XML_FILE, VIAPetsModelManager::updatePetsXML);
         } catch (IOException error) {
             throw new RuntimeException(error);
         }
@@ -88,7 +328,7 @@ public abstract class VIAPetsModelManager {
  */
     public static void updateSalesFile() throws IOException {
         try {
-            FileManager.writeToBinaryFile("savedInformation/sales.bin", viaPets.getSaleList());
+            saveList(SALES_FILE, viaPets.getSaleList());
         } catch (IOException error) {
             throw new RuntimeException(error);
         }
@@ -100,7 +340,7 @@ public abstract class VIAPetsModelManager {
  */
     public static void updateCustomersFile() throws IOException {
         try {
-            FileManager.writeToBinaryFile("savedInformation/customers.bin", viaPets.getCustomerList());
+            saveList(CUSTOMERS_FILE, viaPets.getCustomerList());
         } catch (IOException error) {
             throw new RuntimeException(error);
         }
@@ -112,13 +352,26 @@ public abstract class VIAPetsModelManager {
  */
     public static void updateBookingsFile() throws IOException {
         try {
-            FileManager.writeToBinaryFile("savedInformation/bookings.bin", viaPets.getBookingList());
+            saveList(BOOKINGS_FILE, viaPets.getBookingList());
         } catch (IOException error) {
             throw new RuntimeException(error);
         }
     }
 
 
+    /**
+     * Updates the capacity.bin file with the number of kennels for every kind of pet currently used by the booking list,
+     * and the files for the website which depend on it. There is no window for the kennels yet, so this is called by
+     * code which changes the capacity with BookingList.setCapacity.
+     * @throws IOException
+     */
+    public static void updateCapacityFile() throws IOException
+    {
+        KennelCapacity capacity = viaPets.getBookingList().getCapacity();
+        writer.markDirty(CAPACITY_FILE, () -> FileManager.writeBytesToBinaryFile(CAPACITY_FILE, ModelCodec.encode(capacity)));
+        refreshBookingFiles();
+    }
+
     /**
      * Updates the getFreeSpace.txt file with the information about free space in kennel booking for today.
      * @throws IOException
@@ -128,53 +381,36 @@ public abstract class VIAPetsModelManager {
     public static void updateGetFreeSpaceToday() throws IOException
     {
         try{
-            FileManager.writeToTextFile("savedInformation/getFreeSpace.txt",Integer.toString(viaPets.getBookingList().getFreeSpaceToday()));
+            BookingList bookingList = viaPets.getBookingList();
+            int freeSpace;
+            synchronized (bookingList) {
+                freeSpace = bookingList.getFreeSpaceToday();
+            }
+            FileManager.writeToTextFile(FREE_SPACE_FILE, Integer.toString(freeSpace));
         } catch (IOException error)
         {
             throw new RuntimeException(error);
         }
     }
+    /**
+     * Updates the availability.json file with the number of free kennels for the next days.
+     * @throws IOException
+     */
+    public static void updateAvailabilityFile() throws IOException
+    {
+        FileManager.writeToTextFile(AVAILABILITY_FILE, AvailabilityExport.toJson(viaPets.getBookingList()));
+    }
+
     /**
      * Generates an XML file with details of the pets available for sale and updates the file.
+     * The file is only written when the pets for sale have changed since it was last written.
      *
      * @throws IOException
      */
 
     public static void updatePetsXML() throws IOException
     {
-        int numberOfIterations = 8;
-        ArrayList<Pet> petList = PetList.filterAvailablePets(PetList.filterPets(viaPets.getPetList().getAllPets(), "For sale"));
-
-        String textToWrite = "";
-        if(petList.size() < numberOfIterations)
-        {
-            numberOfIterations = petList.size();
-        }
-        textToWrite += ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-        textToWrite += ("<pets>\n");
-        for(int i = 0; i < numberOfIterations; i++)
-        {
-            Pet currentPet = petList.get(i);
-            String species = switch (currentPet.getPetClassName()) {
-                case "Cat" -> ((Cat) currentPet).getBreed();
-                case "Dog" -> ((Dog) currentPet).getBreed();
-                case "Rodent" -> ((Rodent) currentPet).getSpecies();
-                case "Bird" -> ((Bird) currentPet).getSpecies();
-                case "Fish" -> ((Fish) currentPet).getSpecies();
-                default -> "";
-            };
-            textToWrite += ("<" + currentPet.getPetClassName() +">\n");
-            textToWrite += ("\t<species>" + species + "</species>\n");
-            textToWrite += ("\t<name>" + currentPet.getName() + "</name>\n");
-            textToWrite += ("\t<age>" + currentPet.getAge() + "</age>\n");
-            textToWrite += ("\t<color>" + currentPet.getColor() + "</color>\n");
-            textToWrite += ("\t<gender>" + currentPet.getGender() + "</gender>\n");
-            textToWrite += ("\t<price>" + currentPet.getPrice() + "</price>\n");
-            textToWrite += ("</" + currentPet.getPetClassName() + ">\n");
-        }
-        textToWrite += ("</pets>\n");
-
-        FileManager.writeToTextFile("savedInformation/petsForWebsite.xml", textToWrite);
+        petsXmlExport.export(viaPets.getPetList());
     }
     /**
      * Getter method for ViaPets.
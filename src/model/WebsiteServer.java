@@ -0,0 +1,321 @@
+package model;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A small HTTP server which gives the website the pets for sale and the free kennel spaces straight from the lists
+ * in memory, so the website does not depend on files which are only written when the data is edited.
+ * <ul>
+ *     <li>GET /pets gives the same XML as the petsForWebsite.xml file</li>
+ *     <li>GET /freespace gives the number of free kennels today, GET /freespace?date=24.12.2024 (or 2024-12-24)
+ *     on another day</li>
+ *     <li>GET /availability gives the same JSON calendar of free kennels as the availability.json file</li>
+ * </ul>
+ * Every response has an ETag, so a browser asking again with If-None-Match gets a short 304 answer when nothing changed,
+ * and it is sent gzipped to browsers accepting that. Responses are cached until the pet or booking list changes.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class WebsiteServer {
+    private static final int GZIP_MIN_LENGTH = 512; // shorter responses are sent as they are
+    private static final int MAX_CACHED_DATES = 1024; // the free space cache is emptied when it grows bigger
+
+    private final VIAPets viaPets; // the lists the responses are made from
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong petsVersion = new AtomicLong(); // increased on every change of the pet list
+    private final AtomicLong bookingsVersion = new AtomicLong(); // increased on every change of the booking list
+    private volatile CachedResponse petsResponse; // the last /pets response, null when it has to be made again
+    private final Map<Integer, CachedResponse> freeSpaceResponses = new ConcurrentHashMap<Integer, CachedResponse>(); // by epoch day
+    private final Map<Integer, CachedResponse> availabilityResponses = new ConcurrentHashMap<Integer, CachedResponse>(); // by today's epoch day
+
+    /**
+     * A response body together with its gzipped bytes and its ETag.
+     */
+    private record CachedResponse(byte[] body, byte[] gzippedBody, String eTag) {
+    }
+
+    /**
+     * Constructs a server for the lists of a VIAPets object. The server is not started yet.
+     *
+     * @param viaPets the object whose lists are served
+     * @param port    the port to listen on
+     * @throws IOException if the port cannot be used
+     */
+    public WebsiteServer(VIAPets viaPets, int port) throws IOException {
+        this.viaPets = viaPets;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newFixedThreadPool(2, task -> {
+            Thread thread = new Thread(task, "VIAPets website server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/pets", this::handlePets);
+        server.createContext("/freespace", this::handleFreeSpace);
+        server.createContext("/availability", this::handleAvailability);
+    }
+
+    /**
+     * Starts listening to the pet and booking lists and starts answering requests.
+     */
+    public void start() {
+        viaPets.getPetList().addListener(new VersionCounter<Pet>(petsVersion, () -> petsResponse = null));
+        viaPets.getBookingList().addListener(new VersionCounter<KennelBooking>(bookingsVersion, () -> {
+            freeSpaceResponses.clear();
+            availabilityResponses.clear();
+        }));
+        server.start();
+    }
+
+    /**
+     * Stops answering requests.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handlePets(HttpExchange exchange) throws IOException {
+        try {
+            CachedResponse response = petsResponse;
+            if (response == null) {
+                long version = petsVersion.get();
+                PetList petList = viaPets.getPetList();
+                String xml;
+                synchronized (petList) {
+                    xml = PetsXmlExport.toXml(petList.getPets(null, "For sale", true));
+                }
+                response = cache(xml);
+                if (petsVersion.get() == version) {
+                    petsResponse = response; // not cached when the list changed while the XML was made
+                }
+            }
+            send(exchange, "application/xml; charset=UTF-8", response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleFreeSpace(HttpExchange exchange) throws IOException {
+        try {
+            Date date;
+            try {
+                date = parseDate(getParameter(exchange.getRequestURI().getRawQuery(), "date"));
+            } catch (IllegalArgumentException | DateTimeException error) {
+                sendError(exchange, 400, "Wrong date, use day.month.year or year-month-day");
+                return;
+            }
+            CachedResponse response = freeSpaceResponses.get(date.toEpochDay());
+            if (response == null) {
+                long version = bookingsVersion.get();
+                BookingList bookingList = viaPets.getBookingList();
+                int freeSpace;
+                synchronized (bookingList) {
+                    freeSpace = bookingList.getFreeSpace(date);
+                }
+                response = cache(Integer.toString(freeSpace));
+                if (bookingsVersion.get() == version) {
+                    if (freeSpaceResponses.size() >= MAX_CACHED_DATES) {
+                        freeSpaceResponses.clear();
+                    }
+                    freeSpaceResponses.put(date.toEpochDay(), response);
+                }
+            }
+            send(exchange, "text/plain; charset=UTF-8", response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleAvailability(HttpExchange exchange) throws IOException {
+        try {
+            Date today = Date.today();
+            CachedResponse response = availabilityResponses.get(today.toEpochDay());
+            if (response == null) {
+                long version = bookingsVersion.get();
+                response = cache(AvailabilityExport.toJson(viaPets.getBookingList(), today, AvailabilityExport.FORECAST_DAYS));
+                if (bookingsVersion.get() == version) {
+                    availabilityResponses.clear(); // only today's calendar is kept
+                    availabilityResponses.put(today.toEpochDay(), response);
+                }
+            }
+            send(exchange, "application/json; charset=UTF-8", response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Answers a request with a cached response, or with 304 if the browser already has it.
+     */
+    private static void send(HttpExchange exchange, String contentType, CachedResponse response) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+            sendError(exchange, 405, "Only GET is supported");
+            return;
+        }
+        Headers requestHeaders = exchange.getRequestHeaders();
+        Headers responseHeaders = exchange.getResponseHeaders();
+        responseHeaders.set("ETag", response.eTag());
+        responseHeaders.set("Cache-Control", "no-cache"); // the browser has to ask, but may get a 304
+        responseHeaders.set("Access-Control-Allow-Origin", "*"); // the website can be opened from anywhere
+        responseHeaders.set("Access-Control-Expose-Headers", "ETag");
+        responseHeaders.set("Vary", "Accept-Encoding");
+
+        String ifNoneMatch = requestHeaders.getFirst("If-None-Match");
+        if (ifNoneMatch != null && (ifNoneMatch.contains(response.eTag()) || ifNoneMatch.trim().equals("*"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+
+        byte[] body = response.body();
+        String acceptEncoding = requestHeaders.getFirst("Accept-Encoding");
+        if (response.gzippedBody() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            responseHeaders.set("Content-Encoding", "gzip");
+            body = response.gzippedBody();
+        }
+        responseHeaders.set("Content-Type", contentType);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Makes the bytes, gzipped bytes and ETag of a response body.
+     */
+    private static CachedResponse cache(String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        byte[] gzippedBody = null;
+        if (body.length >= GZIP_MIN_LENGTH) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 2);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(body);
+            }
+            gzippedBody = bytes.toByteArray();
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(body);
+        String eTag = "\"" + Long.toHexString(checksum.getValue()) + "-" + body.length + "\"";
+        return new CachedResponse(body, gzippedBody, eTag);
+    }
+
+    /**
+     * Gets a parameter from the query of a URI.
+     *
+     * @return the decoded value, or null if the parameter is not there
+     */
+    private static String getParameter(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).equals(name)) {
+                return URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a date written as day.month.year or year-month-day.
+     *
+     * @param text the date, or null or empty for today
+     * @return the date
+     * @throws IllegalArgumentException if the text is not a date
+     * @throws DateTimeException        if the date does not exist
+     */
+    static Date parseDate(String text) {
+        if (text == null || text.isBlank()) {
+            return Date.today();
+        }
+        LocalDate date;
+        String[] parts = text.trim().split("\\.");
+        if (parts.length == 3) {
+            date = LocalDate.of(Integer.parseInt(parts[2]), Integer.parseInt(parts[1]), Integer.parseInt(parts[0]));
+        } else {
+            date = LocalDate.parse(text.trim());
+        }
+        return new Date(date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+    }
+
+    /**
+     * A listener which counts the changes of a list and runs an action after each one.
+     */
+    private static class VersionCounter<T> implements ModelListener<T> {
+        private final AtomicLong version;
+        private final Runnable onChange;
+
+        private VersionCounter(AtomicLong version, Runnable onChange) {
+            this.version = version;
+            this.onChange = onChange;
+        }
+
+        private void changed() {
+            version.incrementAndGet();
+            onChange.run();
+        }
+
+        @Override
+        public void elementAdded(int index, T element) {
+            changed();
+        }
+
+        @Override
+        public void elementChanged(int index, T oldElement, T newElement) {
+            changed();
+        }
+
+        @Override
+        public void elementRemoved(int index, T element) {
+            changed();
+        }
+
+        @Override
+        public void listChanged() {
+            changed();
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package utils;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * A utility class for handling file operations, including writing and reading text and binary files.
@@ -10,6 +18,22 @@ import java.io.*;
  * @version 1.0 - December 2024
  */
 public class FileManager {
+    public static final int BACKUP_GENERATIONS = 2; // number of older versions kept of every binary file
+
+    /**
+     * An interface for the code which turns the contents of a binary file into an object.
+     */
+    public interface BinaryDecoder {
+        /**
+         * Turns the contents of a file into an object.
+         *
+         * @param bytes the contents of the file
+         * @return the object, or null if the file is empty
+         * @throws IOException            if the contents are damaged
+         * @throws ClassNotFoundException
+         */
+        Object decode(ByteBuffer bytes) throws IOException, ClassNotFoundException;
+    }
 
     /**
      * Writes the given string to a text file.
@@ -34,7 +58,9 @@ public class FileManager {
     }
 
     /**
-     * Writes the given object to a binary file.
+     * Writes the given object to a binary file without ever leaving a half written file behind.
+     * The object is written to a temporary file, which is forced to the disk and then renamed to the file name
+     * in one step. The previous versions of the file are kept as fileName.1 up to fileName.{@value #BACKUP_GENERATIONS}.
      *
      * @param fileName the name of the file to write to
      * @param obj      the object to be written to the file
@@ -42,22 +68,206 @@ public class FileManager {
      * @throws IOException
      */
     public static void writeToBinaryFile(String fileName, Object obj) throws FileNotFoundException, IOException {
-        ObjectOutputStream writeToFile = null;
+        Path file = Paths.get(fileName);
+        Path tempFile = Paths.get(fileName + ".tmp");
+        FileOutputStream fileOutStream = new FileOutputStream(tempFile.toFile());
 
         try {
-            FileOutputStream fileOutStream = new FileOutputStream(fileName);
-            writeToFile = new ObjectOutputStream(fileOutStream);
-
+            ObjectOutputStream writeToFile = new ObjectOutputStream(new BufferedOutputStream(fileOutStream));
             writeToFile.writeObject(obj);
+            writeToFile.flush();
+            fileOutStream.getChannel().force(true); // the data is on the disk before the file gets its real name
         } finally {
-            if (writeToFile != null) {
-                try {
-                    writeToFile.close();
-                } catch (IOException e) {
-                    System.out.println("IO Error closing file " + fileName);
-                }
+            try {
+                fileOutStream.close();
+            } catch (IOException e) {
+                System.out.println("IO Error closing file " + fileName);
             }
         }
+
+        replaceWithTempFile(file, tempFile);
+    }
+
+    /**
+     * Writes bytes made by toBinary to a binary file, in the same safe way as writeToBinaryFile.
+     *
+     * @param fileName the name of the file to write to
+     * @param bytes    the serialized object
+     * @throws IOException
+     */
+    public static void writeBytesToBinaryFile(String fileName, byte[] bytes) throws IOException {
+        writeBytesToBinaryFile(fileName, ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to a binary file, in the same safe way as writeToBinaryFile.
+     *
+     * @param fileName the name of the file to write to
+     * @param bytes    the bytes to write
+     * @throws IOException
+     */
+    public static void writeBytesToBinaryFile(String fileName, ByteBuffer bytes) throws IOException {
+        Path file = Paths.get(fileName);
+        Path tempFile = Paths.get(fileName + ".tmp");
+        writeTempFile(tempFile, bytes);
+        replaceWithTempFile(file, tempFile);
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to a file which is made again from the data whenever it is needed,
+     * like the files for the website. The file is replaced in one step, but no backups are kept.
+     *
+     * @param fileName the name of the file to write to
+     * @param bytes    the bytes to write
+     * @throws IOException
+     */
+    public static void writeBytesToFile(String fileName, ByteBuffer bytes) throws IOException {
+        Path tempFile = Paths.get(fileName + ".tmp");
+        writeTempFile(tempFile, bytes);
+        moveFile(tempFile, Paths.get(fileName));
+        forceDirectory(Paths.get(fileName));
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to a temporary file and forces them to the disk.
+     *
+     * @param tempFile the temporary file
+     * @param bytes    the bytes to write
+     * @throws IOException
+     */
+    private static void writeTempFile(Path tempFile, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads the whole contents of a binary file.
+     *
+     * @param fileName the name of the file to read from
+     * @return a buffer holding the contents of the file
+     * @throws FileNotFoundException if the file does not exist
+     * @throws IOException
+     */
+    public static ByteBuffer readBytesFromBinaryFile(String fileName) throws FileNotFoundException, IOException {
+        if (!new File(fileName).exists()) {
+            throw new FileNotFoundException(fileName);
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            ByteBuffer bytes = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (bytes.hasRemaining() && channel.read(bytes) != -1) {
+                // keep reading until the buffer is full
+            }
+            bytes.flip();
+            return bytes;
+        }
+    }
+
+    /**
+     * Serializes an object into bytes, in the format written by writeToBinaryFile.
+     *
+     * @param obj the object to serialize
+     * @return the serialized object
+     * @throws IOException
+     */
+    public static byte[] toBinary(Object obj) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream writeToBytes = new ObjectOutputStream(bytes);
+        writeToBytes.writeObject(obj);
+        writeToBytes.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes an object written by toBinary or writeToBinaryFile.
+     *
+     * @param bytes the serialized object
+     * @return the object, or null if there are no bytes
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static Object fromBinary(ByteBuffer bytes) throws IOException, ClassNotFoundException {
+        if (!bytes.hasRemaining()) {
+            return null;
+        }
+        ByteArrayInputStream byteStream = new ByteArrayInputStream(bytes.array(),
+                bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        try (ObjectInputStream readFromBytes = new ObjectInputStream(byteStream)) {
+            return readFromBytes.readObject();
+        }
+    }
+
+    /**
+     * Keeps a backup of a file and renames the finished temporary file to the file.
+     *
+     * @param file     the file to replace
+     * @param tempFile the finished temporary file
+     * @throws IOException
+     */
+    private static void replaceWithTempFile(Path file, Path tempFile) throws IOException {
+        if (Files.exists(file)) {
+            keepBackup(file.toString());
+        }
+        moveFile(tempFile, file);
+        forceDirectory(file);
+    }
+
+    /**
+     * Forces the directory of a file to the disk, so a rename in it is not lost if the computer crashes.
+     * Some systems, like Windows, cannot open a directory; there the rename reaches the disk a bit later.
+     *
+     * @param file a file in the directory
+     */
+    private static void forceDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException error) {
+            // the directory cannot be forced on this system
+        }
+    }
+
+    /**
+     * Moves the backups of a file one generation back and makes the file itself the newest backup.
+     * The newest backup is a second link to the file where the file system allows it, so nothing is copied
+     * and the file is never missing.
+     *
+     * @param fileName the name of the file
+     * @throws IOException
+     */
+    private static void keepBackup(String fileName) throws IOException {
+        for (int generation = BACKUP_GENERATIONS - 1; generation >= 1; generation--) {
+            Path backup = Paths.get(fileName + "." + generation);
+            if (Files.exists(backup)) {
+                moveFile(backup, Paths.get(fileName + "." + (generation + 1)));
+            }
+        }
+        Path newestBackup = Paths.get(fileName + ".1");
+        Files.deleteIfExists(newestBackup);
+        try {
+            Files.createLink(newestBackup, Paths.get(fileName));
+        } catch (IOException | UnsupportedOperationException error) {
+            Files.copy(Paths.get(fileName), newestBackup, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Renames a file in one step, replacing the target if it exists.
+     *
+     * @param source the file to rename
+     * @param target the new name
+     * @throws IOException
+     */
+    private static void moveFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException error) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 
     /**
@@ -75,7 +285,7 @@ public class FileManager {
         ObjectInputStream readFromFile = null;
         try {
             FileInputStream fileInStream = new FileInputStream(fileName);
-            readFromFile = new ObjectInputStream(fileInStream);
+            readFromFile = new ObjectInputStream(new BufferedInputStream(fileInStream));
             try {
                 obj = readFromFile.readObject();
             } catch (EOFException eof) {
@@ -93,4 +303,61 @@ public class FileManager {
 
         return obj;
     }
+
+    /**
+     * Reads the first object from a binary file, falling back to the backups written by writeToBinaryFile
+     * when the file is missing or damaged.
+     *
+     * @param fileName the name of the file to read from
+     * @return the object read from the newest readable version of the file
+     * @throws FileNotFoundException   if neither the file nor any backup exists
+     * @throws IOException             if no version of the file can be read
+     * @throws ClassNotFoundException
+     */
+    public static Object readFromBinaryFileWithBackups(String fileName) throws FileNotFoundException, IOException, ClassNotFoundException {
+        return readFromBinaryFileWithBackups(fileName, FileManager::fromBinary);
+    }
+
+    /**
+     * Reads a binary file with a decoder, falling back to the backups written by writeToBinaryFile
+     * when the file is missing, empty or the decoder cannot read it. An empty file is never written on purpose,
+     * it is left by a crash, so it counts as damaged.
+     *
+     * @param fileName the name of the file to read from
+     * @param decoder  the code which turns the contents of the file into an object
+     * @return the object read from the newest readable version of the file
+     * @throws FileNotFoundException   if neither the file nor any backup exists
+     * @throws IOException             if no version of the file can be read
+     * @throws ClassNotFoundException
+     */
+    public static Object readFromBinaryFileWithBackups(String fileName, BinaryDecoder decoder) throws FileNotFoundException, IOException, ClassNotFoundException {
+        try {
+            return decodeNotEmpty(fileName, decoder);
+        } catch (IOException | ClassNotFoundException error) {
+            for (int generation = 1; generation <= BACKUP_GENERATIONS; generation++) {
+                String backupName = fileName + "." + generation;
+                if (new File(backupName).exists()) {
+                    try {
+                        Object obj = decodeNotEmpty(backupName, decoder);
+                        System.out.println("Could not read " + fileName + ", recovered it from " + backupName);
+                        return obj;
+                    } catch (IOException | ClassNotFoundException backupError) {
+                        System.out.println("IO Error reading backup " + backupName);
+                    }
+                }
+            }
+            throw error;
+        }
+    }
+
+    /**
+     * Reads a binary file with a decoder, failing when the file holds no object.
+     */
+    private static Object decodeNotEmpty(String fileName, BinaryDecoder decoder) throws IOException, ClassNotFoundException {
+        Object obj = decoder.decode(readBytesFromBinaryFile(fileName));
+        if (obj == null) {
+            throw new IOException("Empty file " + fileName);
+        }
+        return obj;
+    }
 }
@@ -1,13 +1,14 @@
 package view;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import model.*;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.time.LocalDate;
 
@@ -52,7 +53,7 @@ public class BookingAddEditController {
         alert.setHeaderText(null);
         alert.setContentText("Warning, the entered data is incorrect");
 
-        setUpComboBoxes();
+        VIAPetsModelManager.whenLoaded(() -> Platform.runLater(this::setUpComboBoxes)); // the data may still be loading
     }
 
     /**
@@ -124,13 +125,12 @@ public class BookingAddEditController {
     }
 
     /**
-     * Handles the save action, validating and saving the booking data.
+     * Handles the save action, validating the booking data and saving it on the model worker thread.
      *
      * @param event
-     * @throws IOException
      */
     @FXML
-    private void handleSaveAction(ActionEvent event) throws IOException {
+    private void handleSaveAction(ActionEvent event) {
         if (startDate.getValue() != null && endDate.getValue() != null && !petNameComboBox.getValue().equals("No pets found")) {
             double price = -1;
             boolean priceIsDouble = true;
@@ -144,33 +144,66 @@ public class BookingAddEditController {
             Date endDateConverted = new Date(endDate.getValue().getDayOfMonth(), endDate.getValue().getMonthValue(), endDate.getValue().getYear());
 
             if (startDateConverted.isBefore(endDateConverted) && priceIsDouble && price >= 0 && !customerComboBox.getValue().equals("No customers found")) {
-                KennelBooking booking = new KennelBooking(
-                        VIAPetsModelManager.getViaPets().getCustomerList().getCustomerByName(customerComboBox.getValue()),
-                        PetList.getPetByName(filteredPets, petNameComboBox.getValue()),
-                        startDateConverted, endDateConverted, price
-                );
-
-                if (!edit) {
-                    if (VIAPetsModelManager.getViaPets().getBookingList().addBooking(booking)) {
+                String customerName = customerComboBox.getValue();
+                String petClassName = petComboBox.getValue();
+                String petName = petNameComboBox.getValue();
+                double bookingPrice = price;
+                boolean editing = edit;
+                KennelBooking bookingToEdit = editingBooking;
+                ModelCommand.run((Node) event.getSource(), () -> {
+                    KennelBooking booking = new KennelBooking(
+                            VIAPetsModelManager.getViaPets().getCustomerList().getCustomerByName(customerName),
+                            VIAPetsModelManager.getViaPets().getPetList().getPetByName(petClassName, "Kennel", petName),
+                            startDateConverted, endDateConverted, bookingPrice
+                    );
+
+                    BookingList bookingList = VIAPetsModelManager.getViaPets().getBookingList();
+                    boolean saved = editing ? bookingList.editBooking(bookingToEdit, booking) : bookingList.addBooking(booking);
+                    if (saved) {
                         VIAPetsModelManager.updateBookingsFile();
-                        viewHandler.openView("TabPane");
-                    } else {
-                        alert.show();
+                        return null;
                     }
-                } else {
-                    if (VIAPetsModelManager.getViaPets().getBookingList().editBooking(editingBooking, booking)) {
-                        VIAPetsModelManager.updateBookingsFile();
+                    return bookingList.getConflictingNights(booking, editing ? bookingToEdit : null);
+                }, conflicts -> { // null when the booking was saved
+                    if (conflicts == null) {
                         viewHandler.openView("TabPane");
                     } else {
-                        alert.show();
+                        showConflicts(conflicts);
                     }
-                }
+                });
             } else {
-                alert.show();
+                showAlert("Warning, the entered data is incorrect");
             }
         } else {
-            alert.show();
+            showAlert("Warning, the entered data is incorrect");
+        }
+    }
+
+    /**
+     * Shows a warning with a text.
+     *
+     * @param text the text of the warning
+     */
+    private void showAlert(String text) {
+        alert.setContentText(text);
+        alert.show();
+    }
+
+    /**
+     * Shows a warning listing the nights on which there is no free kennel for the booking.
+     *
+     * @param nights the nights without a free kennel
+     */
+    private void showConflicts(ArrayList<Date> nights) {
+        if (nights.isEmpty()) {
+            showAlert("Warning, the entered data is incorrect");
+            return;
         }
+        StringBuilder text = new StringBuilder("Warning, there is no free kennel on the nights of");
+        for (Date night : nights) {
+            text.append(' ').append(night);
+        }
+        showAlert(text.toString());
     }
 
     /**
@@ -191,7 +224,10 @@ public class BookingAddEditController {
      */
     @FXML
     private void petUpdated(ActionEvent event) {
-        filteredPets = PetList.filterPets(VIAPetsModelManager.getViaPets().getPetList().getPetsByClassName(petComboBox.getValue()), "Kennel");
+        PetList petList = VIAPetsModelManager.getViaPets().getPetList();
+        synchronized (petList) { // the view follows the pet list, which the model commands change on another thread
+            filteredPets = new ArrayList<Pet>(petList.getPets(petComboBox.getValue(), "Kennel", null));
+        }
         if (!filteredPets.isEmpty()) {
             ArrayList<String> petNames = new ArrayList<>();
             for (Pet pet : filteredPets) {
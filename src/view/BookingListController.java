@@ -1,17 +1,15 @@
 package view;
 
-import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import model.BookingList;
 import model.Date;
 import model.KennelBooking;
 import model.VIAPetsModelManager;
 
-import java.io.IOException;
-
 /**
  * Controller class for managing the Booking List view.
  * Provides functionality to add, edit, remove, and view bookings, as well as display them in a table.
@@ -31,6 +29,7 @@ public class BookingListController {
 
     private ViewHandler viewHandler;
     private Scene scene;
+    private ObservableModelList<KennelBooking> bookings; // the rows of the table, following the booking list
 
     /**
      * Initializes the controller with the necessary view handler and scene.
@@ -46,26 +45,32 @@ public class BookingListController {
     }
 
     /**
-     * Configures the table columns and populates the table with booking data.
+     * Configures the table columns to display booking properties.
+     * The rows are filled by reset, once the data is loaded.
      */
     private void setupTable() {
-        petBooking.setCellValueFactory(new PropertyValueFactory<>("petClass"));
-        petNameBooking.setCellValueFactory(new PropertyValueFactory<>("petName"));
-        customerNameBooking.setCellValueFactory(new PropertyValueFactory<>("customerName"));
-        startDate.setCellValueFactory(new PropertyValueFactory<>("startDate"));
-        endDate.setCellValueFactory(new PropertyValueFactory<>("endDate"));
-        bookingPrice.setCellValueFactory(new PropertyValueFactory<>("price"));
-
-        refreshTable();
+        petBooking.setCellValueFactory(CellValueFactory.of(KennelBooking::getPetClass));
+        petNameBooking.setCellValueFactory(CellValueFactory.of(KennelBooking::getPetName));
+        customerNameBooking.setCellValueFactory(CellValueFactory.of(KennelBooking::getCustomerName));
+        startDate.setCellValueFactory(CellValueFactory.of(KennelBooking::getStartDate));
+        endDate.setCellValueFactory(CellValueFactory.of(KennelBooking::getEndDate));
+        bookingPrice.setCellValueFactory(CellValueFactory.of(KennelBooking::getPrice));
     }
 
     /**
-     * Refreshes the table with the latest booking data.
+     * Shows the booking data from the model in the table.
+     * The rows are copied only when the table does not follow the current booking list yet;
+     * after that the table is updated row by row as the list changes.
      */
     private void refreshTable() {
-        bookingTableView.setItems(FXCollections.observableArrayList(
-                VIAPetsModelManager.getViaPets().getBookingList().getBookings()
-        ));
+        BookingList bookingList = VIAPetsModelManager.getViaPets().getBookingList();
+        if (bookings == null || !bookings.follows(bookingList)) {
+            if (bookings != null) {
+                bookings.stop();
+            }
+            bookings = new ObservableModelList<KennelBooking>(bookingList, bookingList.getBookings());
+            bookingTableView.setItems(bookings.getItems());
+        }
     }
 
     /**
@@ -122,15 +127,16 @@ public class BookingListController {
      * Removes the selected booking from the list and updates the data file.
      *
      * @param event
-     * @throws IOException
      */
     @FXML
-    private void handleRemoveBooking(ActionEvent event) throws IOException {
+    private void handleRemoveBooking(ActionEvent event) {
         KennelBooking selectedBooking = bookingTableView.getSelectionModel().getSelectedItem();
         if (selectedBooking != null) {
-            VIAPetsModelManager.getViaPets().getBookingList().removeBooking(selectedBooking);
-            VIAPetsModelManager.updateBookingsFile();
-            refreshTable();
+            ModelCommand.run((Node) event.getSource(), () -> {
+                VIAPetsModelManager.getViaPets().getBookingList().removeBooking(selectedBooking);
+                VIAPetsModelManager.updateBookingsFile();
+                return null;
+            }, done -> {}); // the table follows the list by itself
         } else {
             showAlert("No Selection", "Please select a booking to remove.");
         }
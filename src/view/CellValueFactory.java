@@ -0,0 +1,31 @@
+package view;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.util.function.Function;
+
+/**
+ * A class which makes the cell value factories of the table columns from getter methods.
+ * Unlike PropertyValueFactory, which looks up the getter by its name with reflection, the getter is
+ * called directly, so filling the visible cells while scrolling does not go through reflection.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class CellValueFactory {
+
+    /**
+     * Makes a cell value factory which shows the value returned by a getter of the row.
+     *
+     * @param getter the getter, for example Pet::getName
+     * @param <S>    the type of the rows
+     * @param <T>    the type of the values in the column
+     * @return the cell value factory
+     */
+    public static <S, T> Callback<TableColumn.CellDataFeatures<S, T>, ObservableValue<T>> of(Function<S, T> getter) {
+        return cell -> new ReadOnlyObjectWrapper<T>(getter.apply(cell.getValue()));
+    }
+}
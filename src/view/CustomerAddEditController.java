@@ -2,14 +2,13 @@ package view;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.TextField;
 import model.*;
 
-import java.io.IOException;
-
 /**
  * Controller class for managing the Add/Edit Customer view.
  * Provides functionality to add or edit a customer, with form validation.
@@ -116,13 +115,12 @@ public class CustomerAddEditController {
 
   /**
    * Handles the save action, validating and saving the customer data.
-   * Adds a new customer or updates an existing customer in the customer list.
+   * Adds a new customer or updates an existing customer in the customer list on the model worker thread.
    *
    * @param event
-   * @throws IOException
    */
   @FXML
-  private void handleSaveCustomer(ActionEvent event) throws IOException {
+  private void handleSaveCustomer(ActionEvent event) {
     if (!nameField.getText().isEmpty() && !cityField.getText().isEmpty() &&
             !streetField.getText().isEmpty() && !phoneField.getText().isEmpty() &&
             !zipCodeField.getText().isEmpty() && !houseNumberField.getText().isEmpty()) {
@@ -133,23 +131,23 @@ public class CustomerAddEditController {
               phoneField.getText()
       );
 
-      if (!edit) {
-        if (VIAPetsModelManager.getViaPets().getCustomerList().addCustomer(customer)) {
+      boolean editing = edit;
+      Customer customerToEdit = editingCustomer;
+      ModelCommand.run((Node) event.getSource(), () -> {
+        CustomerList customerList = VIAPetsModelManager.getViaPets().getCustomerList();
+        boolean saved = editing ? customerList.editCustomer(customerToEdit, customer) : customerList.addCustomer(customer);
+        if (saved) {
           VIAPetsModelManager.updateCustomersFile();
-          viewHandler.openView("TabPane");
-        } else {
-          alert.setContentText("Warning, a customer with such name already exists");
-          alert.show();
         }
-      } else {
-        if (VIAPetsModelManager.getViaPets().getCustomerList().editCustomer(editingCustomer, customer)) {
-          VIAPetsModelManager.updateCustomersFile();
+        return saved;
+      }, saved -> {
+        if (saved) {
           viewHandler.openView("TabPane");
         } else {
           alert.setContentText("Warning, a customer with such name already exists");
           alert.show();
         }
-      }
+      });
     } else {
       alert.setContentText("Warning, the entered data is incorrect");
       alert.show();
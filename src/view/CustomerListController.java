@@ -1,17 +1,15 @@
 package view;
 
-import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 import model.Customer;
+import model.CustomerList;
 import model.VIAPetsModelManager;
 
-import java.io.IOException;
-
 /**
  * Controller class for managing the Customer List view.
  * Provides functionality to add, edit, or remove customers, and displays customer data in a table.
@@ -31,6 +29,7 @@ public class CustomerListController {
 
     private ViewHandler viewHandler;
     private Scene scene;
+    private ObservableModelList<Customer> customers; // the rows of the table, following the customer list
 
     /**
      * Initializes the controller with the necessary dependencies and sets up the customer table.
@@ -45,26 +44,32 @@ public class CustomerListController {
     }
 
     /**
-     * Configures the table columns to display customer properties and populates the table with data.
+     * Configures the table columns to display customer properties.
+     * The rows are filled by reset, once the data is loaded.
      */
     private void setupTable() {
-        nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-        phoneColumn.setCellValueFactory(new PropertyValueFactory<>("phoneNumber"));
-        streetColumn.setCellValueFactory(new PropertyValueFactory<>("street"));
-        houseNumberColumn.setCellValueFactory(new PropertyValueFactory<>("houseName"));
-        cityColumn.setCellValueFactory(new PropertyValueFactory<>("city"));
-        zipCodeColumn.setCellValueFactory(new PropertyValueFactory<>("postalCode"));
-
-        refreshTable();
+        nameColumn.setCellValueFactory(CellValueFactory.of(Customer::getName));
+        phoneColumn.setCellValueFactory(CellValueFactory.of(Customer::getPhoneNumber));
+        streetColumn.setCellValueFactory(CellValueFactory.of(Customer::getStreet));
+        houseNumberColumn.setCellValueFactory(CellValueFactory.of(Customer::getHouseName));
+        cityColumn.setCellValueFactory(CellValueFactory.of(Customer::getCity));
+        zipCodeColumn.setCellValueFactory(CellValueFactory.of(Customer::getPostalCode));
     }
 
     /**
-     * Refreshes the customer table with the latest data.
+     * Shows the customer data from the model in the table.
+     * The rows are copied only when the table does not follow the current customer list yet;
+     * after that the table is updated row by row as the list changes.
      */
     private void refreshTable() {
-        customerTable.setItems(FXCollections.observableArrayList(
-                VIAPetsModelManager.getViaPets().getCustomerList().getCustomers()
-        ));
+        CustomerList customerList = VIAPetsModelManager.getViaPets().getCustomerList();
+        if (customers == null || !customers.follows(customerList)) {
+            if (customers != null) {
+                customers.stop();
+            }
+            customers = new ObservableModelList<Customer>(customerList, customerList.getCustomers());
+            customerTable.setItems(customers.getItems());
+        }
     }
 
     /**
@@ -88,15 +93,16 @@ public class CustomerListController {
      * Updates the customer file after removal.
      *
      * @param event
-     * @throws IOException
      */
     @FXML
-    private void handleRemoveButtonAction(ActionEvent event) throws IOException {
+    private void handleRemoveButtonAction(ActionEvent event) {
         Customer selectedCustomer = customerTable.getSelectionModel().getSelectedItem();
         if (selectedCustomer != null) {
-            VIAPetsModelManager.getViaPets().getCustomerList().removeCustomer(selectedCustomer);
-            VIAPetsModelManager.updateCustomersFile();
-            refreshTable();
+            ModelCommand.run((Node) event.getSource(), () -> {
+                VIAPetsModelManager.getViaPets().getCustomerList().removeCustomer(selectedCustomer);
+                VIAPetsModelManager.updateCustomersFile();
+                return null;
+            }, done -> {}); // the table follows the list by itself
         } else {
             showAlert("No Selection", "Please select a customer to remove.");
         }
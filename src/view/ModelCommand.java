@@ -0,0 +1,78 @@
+package view;
+
+import javafx.concurrent.Task;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A class which runs the changes of the model asked for by the views on a worker thread, so the window keeps
+ * responding while a change is checked, made and saved. The commands run one at a time in the order they were
+ * given, and their results are handed back on the JavaFX application thread. While a command runs, the control
+ * which started it is disabled and the window shows a wait cursor.
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class ModelCommand {
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "VIAPets model commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Runs a command on the worker thread. Must be called on the JavaFX application thread.
+     *
+     * @param source   the control which started the command, for example a save button
+     * @param command  the command, which must not touch the controls of the view
+     * @param whenDone called with the result of the command on the JavaFX application thread
+     * @param <T>      the type of the result
+     * @return the task running the command
+     */
+    public static <T> Task<T> run(Node source, Callable<T> command, Consumer<T> whenDone) {
+        Task<T> task = new Task<T>() {
+            @Override
+            protected T call() throws Exception {
+                return command.call();
+            }
+        };
+        Scene scene = source.getScene();
+        source.setDisable(true);
+        scene.setCursor(Cursor.WAIT);
+        task.setOnSucceeded(event -> {
+            source.setDisable(false);
+            scene.setCursor(Cursor.DEFAULT);
+            whenDone.accept(task.getValue());
+        });
+        task.setOnFailed(event -> {
+            source.setDisable(false);
+            scene.setCursor(Cursor.DEFAULT);
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setHeaderText(null);
+            alert.setContentText("Error saving the changes: " + task.getException().getMessage());
+            alert.show();
+        });
+        WORKER.execute(task);
+        return task;
+    }
+
+    /**
+     * Waits for the commands which were already given and stops the worker thread.
+     */
+    public static void shutdown() {
+        WORKER.shutdown();
+        try {
+            WORKER.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package view;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import model.ModelList;
+import model.ModelListener;
+
+import java.util.List;
+
+/**
+ * A class which keeps an observable list for a table in step with one of the model lists.
+ * The elements are copied once; after that every change of the model list is applied to the observable list
+ * as a single add, set or remove, so a table only redraws the rows which changed instead of all of them.
+ * The changes are applied on the JavaFX application thread, in the order in which they were made.
+ *
+ * @param <T> the type of the elements in the list
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class ObservableModelList<T> implements ModelListener<T> {
+    private final ModelList<T> modelList; // the list which is followed
+    private final ObservableList<T> items; // the elements shown in the table
+
+    /**
+     * Constructs an observable list following a model list. Must be called on the JavaFX application thread.
+     *
+     * @param modelList the model list to follow
+     * @param elements  the elements of the model list, in the order of the model list
+     */
+    public ObservableModelList(ModelList<T> modelList, List<T> elements) {
+        this.modelList = modelList;
+        synchronized (modelList) { // no change can happen between copying the elements and listening
+            this.items = FXCollections.observableArrayList(elements);
+            modelList.addListener(this);
+        }
+    }
+
+    /**
+     * Checks if this observable list follows a model list.
+     *
+     * @param modelList the model list
+     * @return true if the changes of the model list are applied to this list, otherwise false
+     */
+    public boolean follows(ModelList<T> modelList) {
+        return this.modelList == modelList;
+    }
+
+    /**
+     * Gets the observable list to be shown in a table.
+     *
+     * @return the observable list
+     */
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Stops following the model list, for example when the model list was replaced by another one.
+     */
+    public void stop() {
+        modelList.removeListener(this);
+    }
+
+    @Override
+    public void elementAdded(int index, T element) {
+        Platform.runLater(() -> items.add(index, element));
+    }
+
+    @Override
+    public void elementChanged(int index, T oldElement, T newElement) {
+        Platform.runLater(() -> items.set(index, newElement)); // also redraws the row when the element only changed
+    }
+
+    @Override
+    public void elementRemoved(int index, T element) {
+        Platform.runLater(() -> items.remove(index));
+    }
+}
@@ -3,13 +3,11 @@ package view;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import model.*;
 
-import java.io.IOException;
-import java.util.Objects;
-
 /**
  * Controller class for managing the Add/Edit Pet view.
  * Handles user input for creating or editing pet details, including validation and saving data.
@@ -196,13 +194,12 @@ public class PetAddEditController {
 
     /**
      * Handles the save action, validating and saving the pet data.
-     * Adds a new pet or updates an existing pet based on the mode.
+     * Adds a new pet or updates an existing pet based on the mode, on the model worker thread.
      *
      * @param event
-     * @throws IOException
      */
     @FXML
-    private void savePetHandler(ActionEvent event) throws IOException {
+    private void savePetHandler(ActionEvent event) {
         if (!petNameField.getText().isEmpty() && !petColorField.getText().isEmpty()) {
             double price = -1;
             boolean priceIsDouble = true;
@@ -221,41 +218,48 @@ public class PetAddEditController {
             }
 
             if (age >= 0 && price >= 0 && ageIsInteger && priceIsDouble) {
-                if ((edit && Objects.equals(editingPet.getPetClassName(), petComboBox.getValue()) &&
-                        Objects.equals(editingPet.getName(), petNameField.getText())) ||
-                        PetList.getPetByName(VIAPetsModelManager.getViaPets().getPetList().getPetsByClassName(petComboBox.getValue()), petNameField.getText()) == null) {
+                boolean available = availabilityYes.isSelected();
+                boolean type = kennelRadio.isSelected();
+                boolean doTheyBite = biteYes.isSelected();
+                boolean predator = predatorYes.isSelected();
+                Pet pet = null;
 
-                    boolean available = availabilityYes.isSelected();
-                    boolean type = kennelRadio.isSelected();
-                    boolean doTheyBite = biteYes.isSelected();
-                    boolean predator = predatorYes.isSelected();
-                    Pet pet = null;
+                switch (petComboBox.getValue()) {
+                    case "Dog" -> pet = new Dog(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, breederNameField.getText(), petBreedField.getText());
+                    case "Cat" -> pet = new Cat(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, breederNameField.getText(), petBreedField.getText());
+                    case "Rodent" -> pet = new Rodent(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, speciesField.getText(), doTheyBite);
+                    case "Fish" -> pet = new Fish(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, predator, habitatField.getText(), speciesField.getText());
+                    case "Bird" -> pet = new Bird(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, preferredFoodField.getText(), speciesField.getText());
+                }
 
-                    switch (petComboBox.getValue()) {
-                        case "Dog" -> pet = new Dog(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, breederNameField.getText(), petBreedField.getText());
-                        case "Cat" -> pet = new Cat(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, breederNameField.getText(), petBreedField.getText());
-                        case "Rodent" -> pet = new Rodent(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, speciesField.getText(), doTheyBite);
-                        case "Fish" -> pet = new Fish(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, predator, habitatField.getText(), speciesField.getText());
-                        case "Bird" -> pet = new Bird(petColorField.getText(), age, petGenderField.getText(), petNameField.getText(), commentsField.getText(), type, price, available, preferredFoodField.getText(), speciesField.getText());
+                Pet petToSave = pet;
+                String petClassName = petComboBox.getValue();
+                String petName = petNameField.getText();
+                boolean editing = edit;
+                Pet petToEdit = editingPet;
+                ModelCommand.run((Node) event.getSource(), () -> {
+                    if (petToSave == null) {
+                        return true;
                     }
-
-                    if (pet != null) {
-                        if (!edit) {
-                            VIAPetsModelManager.getViaPets().getPetList().addPet(pet);
-                        } else {
-                            VIAPetsModelManager.getViaPets().getPetList().editPet(editingPet, pet);
-                        }
+                    // the pet list refuses a name which is already taken by a pet of the same class and type
+                    boolean saved = editing ? VIAPetsModelManager.getViaPets().getPetList().editPet(petToEdit, petToSave)
+                            : VIAPetsModelManager.getViaPets().getPetList().addPet(petToSave);
+                    if (saved) {
                         VIAPetsModelManager.updatePetsFile();
                     }
+                    return saved;
+                }, saved -> {
+                    if (!saved) {
+                        alert.setContentText("Warning, there is already a " + petClassName + " named " + petName);
+                        alert.show();
+                        return;
+                    }
 
                     // Return to TabPane and select the "Pet List" tab
                     TabPaneController tabPaneController = viewHandler.getTabPaneController();
                     tabPaneController.selectTab("PetList");
                     viewHandler.openView("TabPane");
-                } else {
-                    alert.setContentText("Warning, there is already a " + petComboBox.getValue() + " named " + petNameField.getText());
-                    alert.show();
-                }
+                });
             } else {
                 alert.setContentText("Warning, the entered data is incorrect");
                 alert.show();
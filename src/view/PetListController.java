@@ -1,16 +1,14 @@
 package view;
 
-import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import model.Pet;
+import model.PetList;
 import model.VIAPetsModelManager;
 
-import java.io.IOException;
-
 /**
  * Controller class for managing the Pet List view.
  * Provides functionality to add, edit, remove, and view details of pets,
@@ -26,12 +24,13 @@ public class PetListController {
   @FXML private TableColumn<Pet, String> petGenderColumn;
   @FXML private TableColumn<Pet, String> petColorColumn;
   @FXML private TableColumn<Pet, Double> petPriceColumn;
-  @FXML private TableColumn<Pet, Boolean> petTypeColumn;
+  @FXML private TableColumn<Pet, String> petTypeColumn;
   @FXML private TableColumn<Pet, String> petClass;
   @FXML private TableView<Pet> petsTableView;
 
   private ViewHandler viewHandler;
   private Scene scene;
+  private ObservableModelList<Pet> pets; // the rows of the table, following the pet list
 
   /**
    * Initializes the controller with the necessary dependencies and sets up the pet table.
@@ -62,27 +61,33 @@ public class PetListController {
   }
 
   /**
-   * Configures the table columns to display pet properties and populates the table with data.
+   * Configures the table columns to display pet properties.
+   * The rows are filled by reset, once the data is loaded.
    */
   private void setupTable() {
-    petClass.setCellValueFactory(new PropertyValueFactory<>("petClassName"));
-    petNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-    petAgeColumn.setCellValueFactory(new PropertyValueFactory<>("age"));
-    petGenderColumn.setCellValueFactory(new PropertyValueFactory<>("gender"));
-    petColorColumn.setCellValueFactory(new PropertyValueFactory<>("color"));
-    petPriceColumn.setCellValueFactory(new PropertyValueFactory<>("price"));
-    petTypeColumn.setCellValueFactory(new PropertyValueFactory<>("type"));
-
-    refreshTable();
+    petClass.setCellValueFactory(CellValueFactory.of(Pet::getPetClassName));
+    petNameColumn.setCellValueFactory(CellValueFactory.of(Pet::getName));
+    petAgeColumn.setCellValueFactory(CellValueFactory.of(Pet::getAge));
+    petGenderColumn.setCellValueFactory(CellValueFactory.of(Pet::getGender));
+    petColorColumn.setCellValueFactory(CellValueFactory.of(Pet::getColor));
+    petPriceColumn.setCellValueFactory(CellValueFactory.of(Pet::getPrice));
+    petTypeColumn.setCellValueFactory(CellValueFactory.of(Pet::getType));
   }
 
   /**
-   * Refreshes the pet table with the latest data from the model.
+   * Shows the pet data from the model in the table.
+   * The rows are copied only when the table does not follow the current pet list yet;
+   * after that the table is updated row by row as the list changes.
    */
   private void refreshTable() {
-    petsTableView.setItems(FXCollections.observableArrayList(
-            VIAPetsModelManager.getViaPets().getPetList().getAllPets()
-    ));
+    PetList petList = VIAPetsModelManager.getViaPets().getPetList();
+    if (pets == null || !pets.follows(petList)) {
+      if (pets != null) {
+        pets.stop();
+      }
+      pets = new ObservableModelList<Pet>(petList, petList.getAllPets());
+      petsTableView.setItems(pets.getItems());
+    }
   }
 
   /**
@@ -123,15 +128,16 @@ public class PetListController {
    * Updates the pet data file after removal.
    *
    * @param event
-   * @throws IOException
    */
   @FXML
-  private void handleRemovePet(ActionEvent event) throws IOException {
+  private void handleRemovePet(ActionEvent event) {
     Pet selectedPet = petsTableView.getSelectionModel().getSelectedItem();
     if (selectedPet != null) {
-      VIAPetsModelManager.getViaPets().getPetList().removePet(selectedPet);
-      VIAPetsModelManager.updatePetsFile();
-      refreshTable();
+      ModelCommand.run((Node) event.getSource(), () -> {
+        VIAPetsModelManager.getViaPets().getPetList().removePet(selectedPet);
+        VIAPetsModelManager.updatePetsFile();
+        return null;
+      }, done -> {}); // the table follows the list by itself
     } else {
       showAlert("No Selection", "Please select a pet to remove.");
     }
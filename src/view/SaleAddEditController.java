@@ -1,8 +1,10 @@
 package view;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
@@ -10,7 +12,6 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.Alert;
 import model.*;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 
@@ -50,7 +51,7 @@ public class SaleAddEditController {
         alert.setTitle("Warning");
         alert.setHeaderText(null);
         alert.setContentText("Warning, the entered data is incorrect");
-        setupComboBoxes();
+        VIAPetsModelManager.whenLoaded(() -> Platform.runLater(this::setupComboBoxes)); // the data may still be loading
     }
 
     /**
@@ -134,13 +135,12 @@ public class SaleAddEditController {
 
     /**
      * Handles the save action, validating and saving the sale data.
-     * Adds a new sale or updates an existing sale based on the mode.
+     * Adds a new sale or updates an existing sale based on the mode, on the model worker thread.
      *
      * @param event
-     * @throws IOException
      */
     @FXML
-    private void handleSaveAction(ActionEvent event) throws IOException {
+    private void handleSaveAction(ActionEvent event) {
         if (date.getValue() != null && !petNameComboBox.getValue().equals("No pets found")) {
             double price = -1;
             boolean priceIsDouble = true;
@@ -152,23 +152,36 @@ public class SaleAddEditController {
 
             if (priceIsDouble && price >= 0) {
                 Date dateConverted = new Date(date.getValue().getDayOfMonth(), date.getValue().getMonthValue(), date.getValue().getYear());
-                Pet pet = PetList.getPetByName(filteredPets, petNameComboBox.getValue());
-                pet.setAvailable(false);
-                Sale sale = new Sale(VIAPetsModelManager.getViaPets().getCustomerList().getCustomerByName(customerComboBox.getValue()), pet, price, dateConverted);
-
-                if (!edit) {
-                    VIAPetsModelManager.getViaPets().getSaleList().addSale(sale);
-                } else {
-                    VIAPetsModelManager.getViaPets().getSaleList().editSale(editingSale, sale);
-                }
-
-                VIAPetsModelManager.updateSalesFile();
-                VIAPetsModelManager.updatePetsFile();
-
-                // Return to TabPane and select the Sales tab
-                TabPaneController tabPaneController = viewHandler.getTabPaneController();
-                tabPaneController.selectTab("SaleList");
-                viewHandler.openView("TabPane");
+                String customerName = customerComboBox.getValue();
+                String petClassName = petComboBox.getValue();
+                String petName = petNameComboBox.getValue();
+                double salePrice = price;
+                boolean editing = edit;
+                Sale saleToEdit = editingSale;
+                ModelCommand.run((Node) event.getSource(), () -> {
+                    Pet pet = VIAPetsModelManager.getViaPets().getPetList().getPetByName(petClassName, "For sale", petName);
+                    Pet soldPet = editing ? saleToEdit.getPet() : null;
+                    if (pet == null && soldPet != null && soldPet.getPetClassName().equals(petClassName) && soldPet.getName().equals(petName)) {
+                        pet = soldPet; // the sold pet of the edited sale is no longer in the pet list
+                    }
+                    VIAPetsModelManager.getViaPets().getPetList().setAvailable(pet, false);
+                    Sale sale = new Sale(VIAPetsModelManager.getViaPets().getCustomerList().getCustomerByName(customerName), pet, salePrice, dateConverted);
+
+                    if (!editing) {
+                        VIAPetsModelManager.getViaPets().getSaleList().addSale(sale);
+                    } else {
+                        VIAPetsModelManager.getViaPets().getSaleList().editSale(saleToEdit, sale);
+                    }
+
+                    VIAPetsModelManager.updateSalesFile();
+                    VIAPetsModelManager.updatePetsFile();
+                    return sale;
+                }, sale -> {
+                    // Return to TabPane and select the Sales tab
+                    TabPaneController tabPaneController = viewHandler.getTabPaneController();
+                    tabPaneController.selectTab("SaleList");
+                    viewHandler.openView("TabPane");
+                });
             } else {
                 alert.show();
             }
@@ -197,12 +210,13 @@ public class SaleAddEditController {
      */
     @FXML
     private void petUpdated(ActionEvent event) {
-        filteredPets = PetList.filterPets(
-                VIAPetsModelManager.getViaPets().getPetList().getPetsByClassName(petComboBox.getValue()), "For sale");
-        filteredPets = PetList.filterAvailablePets(filteredPets);
+        PetList petList = VIAPetsModelManager.getViaPets().getPetList();
+        synchronized (petList) { // the view follows the pet list, which the model commands change on another thread
+            filteredPets = new ArrayList<Pet>(petList.getPets(petComboBox.getValue(), "For sale", true));
+        }
 
         if (edit && petComboBox.getValue().equals(editingSale.getPet().getPetClassName()) && !filteredPets.contains(editingSale.getPet())) {
-            filteredPets.add(editingSale.getPet());
+            filteredPets.add(editingSale.getPet()); // the pet of the edited sale is no longer available
         }
 
         ArrayList<String> petNames = new ArrayList<>();
@@ -1,17 +1,16 @@
 package view;
 
-import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
+import model.Date;
 import model.Sale;
+import model.SaleList;
 import model.VIAPetsModelManager;
 
-import java.io.IOException;
-
 /**
  * Controller class for managing the Sale List view.
  * Provides functionality to add, edit, remove, and view details of sales,
@@ -25,11 +24,12 @@ public class SaleListController {
     @FXML private TableView<Sale> salesTable;
     @FXML private TableColumn<Sale, String> petName;
     @FXML private TableColumn<Sale, String> customerName;
-    @FXML private TableColumn<Sale, String> saleDate;
-    @FXML private TableColumn<Sale, String> salePrice;
+    @FXML private TableColumn<Sale, Date> saleDate;
+    @FXML private TableColumn<Sale, Double> salePrice;
 
     private ViewHandler viewHandler;
     private Scene scene;
+    private ObservableModelList<Sale> sales; // the rows of the table, following the sale list
 
     /**
      * Initializes the controller with the necessary dependencies and sets up the sales table.
@@ -60,24 +60,30 @@ public class SaleListController {
     }
 
     /**
-     * Configures the table columns to display sale properties and populates the table with data.
+     * Configures the table columns to display sale properties.
+     * The rows are filled by reset, once the data is loaded.
      */
     private void setupTable() {
-        petName.setCellValueFactory(new PropertyValueFactory<>("petName"));
-        customerName.setCellValueFactory(new PropertyValueFactory<>("customerName"));
-        saleDate.setCellValueFactory(new PropertyValueFactory<>("date"));
-        salePrice.setCellValueFactory(new PropertyValueFactory<>("price"));
-
-        refreshTable();
+        petName.setCellValueFactory(CellValueFactory.of(Sale::getPetName));
+        customerName.setCellValueFactory(CellValueFactory.of(Sale::getCustomerName));
+        saleDate.setCellValueFactory(CellValueFactory.of(Sale::getDate));
+        salePrice.setCellValueFactory(CellValueFactory.of(Sale::getPrice));
     }
 
     /**
-     * Refreshes the sales table with the latest data from the model.
+     * Shows the sale data from the model in the table.
+     * The rows are copied only when the table does not follow the current sale list yet;
+     * after that the table is updated row by row as the list changes.
      */
     private void refreshTable() {
-        salesTable.setItems(FXCollections.observableArrayList(
-                VIAPetsModelManager.getViaPets().getSaleList().getSales()
-        ));
+        SaleList saleList = VIAPetsModelManager.getViaPets().getSaleList();
+        if (sales == null || !sales.follows(saleList)) {
+            if (sales != null) {
+                sales.stop();
+            }
+            sales = new ObservableModelList<Sale>(saleList, saleList.getSales());
+            salesTable.setItems(sales.getItems());
+        }
     }
 
     /**
@@ -99,15 +105,16 @@ public class SaleListController {
      * Updates the sales data file after removal.
      *
      * @param event
-     * @throws IOException
      */
     @FXML
-    private void handleRemoveButton(ActionEvent event) throws IOException {
+    private void handleRemoveButton(ActionEvent event) {
         Sale selectedSale = salesTable.getSelectionModel().getSelectedItem();
         if (selectedSale != null) {
-            VIAPetsModelManager.getViaPets().getSaleList().removeSale(selectedSale);
-            VIAPetsModelManager.updateSalesFile();
-            refreshTable();
+            ModelCommand.run((Node) event.getSource(), () -> {
+                VIAPetsModelManager.getViaPets().getSaleList().removeSale(selectedSale);
+                VIAPetsModelManager.updateSalesFile();
+                return null;
+            }, done -> {}); // the table follows the list by itself
         } else {
             showAlert("No Selection", "Please select a sale to remove.");
         }
@@ -3,6 +3,7 @@ package view;
 import javafx.application.Application;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
+import model.VIAPetsModelManager;
 
 /**
  * Entry point for the VIAPets application GUI.
@@ -29,4 +30,14 @@ public class StartGUI extends Application {
         // Set the application title
         window.setTitle("VIAPets");
     }
+
+    /**
+     * Stops the JavaFX application, finishing the changes which are still running
+     * and writing all changes which are still waiting to be saved.
+     */
+    @Override
+    public void stop() {
+        ModelCommand.shutdown();
+        VIAPetsModelManager.close();
+    }
 }
@@ -1,9 +1,13 @@
 package view;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.Scene;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
+import model.VIAPetsModelManager;
+
+import java.util.HashMap;
 
 /**
  * Controller class for managing the TabPane in the VIAPets application.
@@ -22,6 +26,7 @@ public class TabPaneController {
     @FXML private Tab tab4; // Pet List
 
     private ViewHandler viewHandler;
+    private final HashMap<Tab, Runnable> tabResets = new HashMap<Tab, Runnable>(); // resets the controller of every tab
 
     /**
      * Initializes the controller with the necessary dependencies and sets up the tabs.
@@ -32,6 +37,11 @@ public class TabPaneController {
     public void init(ViewHandler viewHandler, Scene scene) {
         this.viewHandler = viewHandler;
         setUpTabs();
+        tabPane.getSelectionModel().selectedItemProperty().addListener((observable, oldTab, newTab) -> {
+            if (newTab != null && VIAPetsModelManager.isLoaded()) {
+                refreshTab(newTab);
+            }
+        });
     }
 
     /**
@@ -42,6 +52,20 @@ public class TabPaneController {
         tab2.setContent(viewHandler.getCustomerListController().getScene().getRoot());
         tab3.setContent(viewHandler.getSaleListController().getScene().getRoot());
         tab4.setContent(viewHandler.getPetListController().getScene().getRoot());
+        tabResets.put(tab1, viewHandler.getBookingListController()::reset);
+        tabResets.put(tab2, viewHandler.getCustomerListController()::reset);
+        tabResets.put(tab3, viewHandler.getSaleListController()::reset);
+        tabResets.put(tab4, viewHandler.getPetListController()::reset);
+    }
+
+    /**
+     * Resets the controller of a tab. The tables follow the changes of their lists by themselves,
+     * so this only connects a table to its list once the data is loaded.
+     *
+     * @param tab the tab to be refreshed
+     */
+    private void refreshTab(Tab tab) {
+        tabResets.get(tab).run();
     }
 
     /**
@@ -54,13 +78,15 @@ public class TabPaneController {
     }
 
     /**
-     * Resets the contents of all tabs by refreshing the data in their respective controllers.
+     * Refreshes the selected tab. The other tabs are refreshed when they are selected.
+     * If the data is still being loaded, the tab is refreshed once it is loaded.
      */
     public void reset() {
-        viewHandler.getBookingListController().reset();
-        viewHandler.getCustomerListController().reset();
-        viewHandler.getSaleListController().reset();
-        viewHandler.getPetListController().reset();
+        if (!VIAPetsModelManager.isLoaded()) {
+            VIAPetsModelManager.whenLoaded(() -> Platform.runLater(this::reset));
+            return;
+        }
+        refreshTab(tabPane.getSelectionModel().getSelectedItem());
     }
 
     /**
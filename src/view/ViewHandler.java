@@ -1,23 +1,34 @@
 package view;
 
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Manages the navigation and initialization of all views in the VIAPets application.
  * Provides methods to load, switch, and reset views dynamically.
+ * A view is only loaded from its FXML file the first time it is needed, and then kept. Once the tab pane is shown,
+ * the add and edit views, which are the usual next step, are loaded one at a time while the window is idle.
+ * Start the program with -Dviapets.preloadViews=false to load them only when they are opened.
  *
  * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
  * @version 1.0 - December 2024
  */
 public class ViewHandler {
 
+    private static final boolean PRELOAD_VIEWS = !"false".equals(System.getProperty("viapets.preloadViews"));
+
     private Stage stage;
 
-    // Controllers for all views
+    // Controllers for all views, null until their view is loaded
     private BookingAddEditController bookingAddEditController;
     private BookingListController bookingListController;
     private BookingViewController bookingViewController;
@@ -41,11 +52,37 @@ public class ViewHandler {
     }
 
     /**
-     * Starts the application by loading all views and opening the default view.
+     * Starts the application by opening the default view, which loads the tab pane and the four lists in it.
+     * The time until the tab pane is shown is printed, and the views opened from the lists are loaded afterwards.
      */
     public void start() {
-        loadAllViews();
+        long startTime = System.nanoTime();
         openView("TabPane"); // Default starting view
+        Platform.runLater(() -> {
+            long time = (System.nanoTime() - startTime) / 1000000;
+            long timeSinceLaunch = ProcessHandle.current().info().startInstant()
+                    .map(launch -> Duration.between(launch, Instant.now()).toMillis()).orElse(-1L);
+            System.out.println("Opened the tab pane in " + time + " ms, " + timeSinceLaunch + " ms after launch");
+            if (PRELOAD_VIEWS) {
+                preloadViews(List.<Supplier<?>>of(this::getPetAddEditController, this::getBookingAddEditController,
+                        this::getSaleAddEditController, this::getCustomerAddEditController).iterator());
+            }
+        });
+    }
+
+    /**
+     * Loads views in the background of the JavaFX application thread, one view each time it is idle,
+     * so the window keeps responding while they are loaded.
+     *
+     * @param views the getters of the controllers whose views are loaded
+     */
+    private void preloadViews(Iterator<Supplier<?>> views) {
+        if (views.hasNext()) {
+            Platform.runLater(() -> {
+                views.next().get();
+                preloadViews(views);
+            });
+        }
     }
 
     /**
@@ -55,32 +92,32 @@ public class ViewHandler {
      */
     public void openView(String viewId) {
         switch (viewId) {
-            case "BookingAddEdit" -> stage.setScene(bookingAddEditController.getScene());
+            case "BookingAddEdit" -> stage.setScene(getBookingAddEditController().getScene());
             case "BookingList" -> {
-                stage.setScene(bookingListController.getScene());
-                bookingListController.reset();
+                stage.setScene(getBookingListController().getScene());
+                getBookingListController().reset();
             }
-            case "BookingView" -> stage.setScene(bookingViewController.getScene());
-            case "CustomerAddEdit" -> stage.setScene(customerAddEditController.getScene());
+            case "BookingView" -> stage.setScene(getBookingViewController().getScene());
+            case "CustomerAddEdit" -> stage.setScene(getCustomerAddEditController().getScene());
             case "CustomerList" -> {
-                stage.setScene(customerListController.getScene());
-                customerListController.reset();
+                stage.setScene(getCustomerListController().getScene());
+                getCustomerListController().reset();
             }
-            case "PetAddEdit" -> stage.setScene(petAddEditController.getScene());
+            case "PetAddEdit" -> stage.setScene(getPetAddEditController().getScene());
             case "PetList" -> {
-                stage.setScene(petListController.getScene());
-                petListController.reset();
+                stage.setScene(getPetListController().getScene());
+                getPetListController().reset();
             }
-            case "PetView" -> stage.setScene(petViewController.getScene());
-            case "SaleAddEdit" -> stage.setScene(saleAddEditController.getScene());
+            case "PetView" -> stage.setScene(getPetViewController().getScene());
+            case "SaleAddEdit" -> stage.setScene(getSaleAddEditController().getScene());
             case "SaleList" -> {
-                stage.setScene(saleListController.getScene());
-                saleListController.reset();
+                stage.setScene(getSaleListController().getScene());
+                getSaleListController().reset();
             }
-            case "SaleView" -> stage.setScene(saleViewController.getScene());
+            case "SaleView" -> stage.setScene(getSaleViewController().getScene());
             case "TabPane" -> {
-                stage.setScene(tabPaneController.getScene());
-                tabPaneController.reset();
+                stage.setScene(getTabPaneController().getScene());
+                getTabPaneController().reset();
             }
         }
         stage.setTitle("VIAPets");
@@ -88,26 +125,9 @@ public class ViewHandler {
         stage.show();
     }
 
-    /**
-     * Loads all views and initializes their controllers.
-     */
-    private void loadAllViews() {
-        loadView("BookingAddEdit.fxml", "BookingAddEditController");
-        loadView("BookingList.fxml", "BookingListController");
-        loadView("BookingView.fxml", "BookingViewController");
-        loadView("CustomerAddEdit.fxml", "CustomerAddEditController");
-        loadView("CustomerList.fxml", "CustomerListController");
-        loadView("PetAddEdit.fxml", "PetAddEditController");
-        loadView("PetList.fxml", "PetListController");
-        loadView("PetView.fxml", "PetViewController");
-        loadView("SaleAddEdit.fxml", "SaleAddEditController");
-        loadView("SaleList.fxml", "SaleListController");
-        loadView("SaleView.fxml", "SaleViewController");
-        loadView("TabPane.fxml", "TabPaneController");
-    }
-
     /**
      * Generic method to load a view and initialize its controller.
+     * Called by the getters of the controllers the first time a view is needed.
      *
      * @param fxmlFile the FXML file name for the view
      * @param controllerName the name of the associated controller
@@ -175,17 +195,88 @@ public class ViewHandler {
         }
     }
 
-    // Getters for controllers
-    public BookingAddEditController getBookingAddEditController() { return bookingAddEditController; }
-    public BookingListController getBookingListController() { return bookingListController; }
-    public BookingViewController getBookingViewController() { return bookingViewController; }
-    public CustomerAddEditController getCustomerAddEditController() { return customerAddEditController; }
-    public CustomerListController getCustomerListController() { return customerListController; }
-    public PetAddEditController getPetAddEditController() { return petAddEditController; }
-    public PetListController getPetListController() { return petListController; }
-    public PetViewController getPetViewController() { return petViewController; }
-    public SaleAddEditController getSaleAddEditController() { return saleAddEditController; }
-    public SaleListController getSaleListController() { return saleListController; }
-    public SaleViewController getSaleViewController() { return saleViewController; }
-    public TabPaneController getTabPaneController() { return tabPaneController; }
+    // Getters for controllers, which load the view of a controller the first time it is needed
+    public BookingAddEditController getBookingAddEditController() {
+        if (bookingAddEditController == null) {
+            loadView("BookingAddEdit.fxml", "BookingAddEditController");
+        }
+        return bookingAddEditController;
+    }
+
+    public BookingListController getBookingListController() {
+        if (bookingListController == null) {
+            loadView("BookingList.fxml", "BookingListController");
+        }
+        return bookingListController;
+    }
+
+    public BookingViewController getBookingViewController() {
+        if (bookingViewController == null) {
+            loadView("BookingView.fxml", "BookingViewController");
+        }
+        return bookingViewController;
+    }
+
+    public CustomerAddEditController getCustomerAddEditController() {
+        if (customerAddEditController == null) {
+            loadView("CustomerAddEdit.fxml", "CustomerAddEditController");
+        }
+        return customerAddEditController;
+    }
+
+    public CustomerListController getCustomerListController() {
+        if (customerListController == null) {
+            loadView("CustomerList.fxml", "CustomerListController");
+        }
+        return customerListController;
+    }
+
+    public PetAddEditController getPetAddEditController() {
+        if (petAddEditController == null) {
+            loadView("PetAddEdit.fxml", "PetAddEditController");
+        }
+        return petAddEditController;
+    }
+
+    public PetListController getPetListController() {
+        if (petListController == null) {
+            loadView("PetList.fxml", "PetListController");
+        }
+        return petListController;
+    }
+
+    public PetViewController getPetViewController() {
+        if (petViewController == null) {
+            loadView("PetView.fxml", "PetViewController");
+        }
+        return petViewController;
+    }
+
+    public SaleAddEditController getSaleAddEditController() {
+        if (saleAddEditController == null) {
+            loadView("SaleAddEdit.fxml", "SaleAddEditController");
+        }
+        return saleAddEditController;
+    }
+
+    public SaleListController getSaleListController() {
+        if (saleListController == null) {
+            loadView("SaleList.fxml", "SaleListController");
+        }
+        return saleListController;
+    }
+
+    public SaleViewController getSaleViewController() {
+        if (saleViewController == null) {
+            loadView("SaleView.fxml", "SaleViewController");
+        }
+        return saleViewController;
+    }
+
+    public TabPaneController getTabPaneController() {
+        if (tabPaneController == null) {
+            loadView("TabPane.fxml", "TabPaneController");
+        }
+        return tabPaneController;
+    }
 }
@@ -0,0 +1,184 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Checks the free kennels found by BookingList, which come from the segment trees of KennelOccupancy and the sweep
+ * over the booking dates, against a naive count of the bookings and capacity changes on every day.
+ * Run with the src and test folders on the class path: java model.BookingListTest
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class BookingListTest {
+    private static final int FIRST_DAY = 20000; // all bookings and changes are in the days [FIRST_DAY, LAST_DAY)
+    private static final int LAST_DAY = FIRST_DAY + 60;
+    private static final int HORIZON = LAST_DAY + 40; // days searched by the naive search of the earliest window
+    private static final String[] CLASS_NAMES = {"Dog", "Cat", "Fish", null};
+    private static final Customer CUSTOMER = new Customer("Anna", null, "12345678");
+
+    public static void main(String[] args) {
+        Random random = new Random(17);
+        for (int round = 0; round < 300; round++) {
+            KennelCapacity capacity = randomCapacity(random);
+            BookingList bookingList = new BookingList();
+            bookingList.setCapacity(capacity);
+            for (int i = 0; i < 40; i++) {
+                changeRandomly(bookingList, random);
+            }
+            for (int i = 0; i < 20; i++) {
+                checkQueries(bookingList, capacity, random, round);
+            }
+        }
+        System.out.println("BookingListTest ok");
+    }
+
+    private static KennelCapacity randomCapacity(Random random) {
+        KennelCapacity capacity = new KennelCapacity(random.nextInt(5));
+        if (random.nextBoolean()) {
+            capacity.setKennels("Dog", random.nextInt(4));
+        }
+        if (random.nextBoolean()) {
+            capacity.setKennels("Cat", 1 + random.nextInt(3));
+        }
+        for (int i = random.nextInt(4); i > 0; i--) {
+            int start = FIRST_DAY + random.nextInt(50);
+            capacity.addChange(CLASS_NAMES[random.nextInt(CLASS_NAMES.length)], Date.ofEpochDay(start),
+                    Date.ofEpochDay(start + 1 + random.nextInt(10)), random.nextInt(7) - 3);
+        }
+        return capacity;
+    }
+
+    private static void changeRandomly(BookingList bookingList, Random random) {
+        ArrayList<KennelBooking> bookings = bookingList.getBookings();
+        int start = FIRST_DAY + random.nextInt(50);
+        Date startDate = Date.ofEpochDay(start);
+        Date endDate = Date.ofEpochDay(start + 1 + random.nextInt(9));
+        int operation = bookings.isEmpty() ? 0 : random.nextInt(4);
+        if (operation <= 1) {
+            bookingList.addBooking(new KennelBooking(CUSTOMER, randomPet(random), startDate, endDate, 10));
+        } else if (operation == 2) {
+            bookingList.moveBooking(bookings.get(random.nextInt(bookings.size())), startDate, endDate);
+        } else {
+            bookingList.removeBooking(bookings.get(random.nextInt(bookings.size())));
+        }
+    }
+
+    private static Pet randomPet(Random random) {
+        String className = CLASS_NAMES[random.nextInt(CLASS_NAMES.length)];
+        if (className == null) {
+            return null;
+        }
+        return switch (className) {
+            case "Dog" -> new Dog("brown", 3, "male", "Rex", "", true, 0, true, "Labrador", "Anna");
+            case "Cat" -> new Cat("grey", 2, "female", "Mia", "", true, 0, true, "Persian", "Anna");
+            default -> new Fish("gold", 1, "male", "Nemo", "", true, 0, true, false, "fresh", "Goldfish");
+        };
+    }
+
+    /**
+     * Counts the free kennels of one kind of pet on every day of [FIRST_DAY, HORIZON), one day at a time.
+     * A class name without kennels of its own, or null, stands for the shared kennels.
+     */
+    private static int[] naiveFree(BookingList bookingList, KennelCapacity capacity, String className) {
+        String kennels = capacity.hasOwnKennels(className) ? className : null;
+        int[] free = new int[HORIZON - FIRST_DAY];
+        Arrays.fill(free, capacity.getKennels(kennels));
+        for (KennelCapacity.Change change : capacity.getChanges()) {
+            if (Objects.equals(change.className(), kennels)) {
+                for (int day = change.startDate().toEpochDay(); day < change.endDate().toEpochDay(); day++) {
+                    free[day - FIRST_DAY] += change.difference();
+                }
+            }
+        }
+        for (KennelBooking booking : bookingList.getBookings()) {
+            String petClass = booking.getPet() == null ? null : booking.getPet().getPetClassName();
+            if (Objects.equals(capacity.hasOwnKennels(petClass) ? petClass : null, kennels)) {
+                for (int day = booking.getStartDate().toEpochDay(); day < booking.getEndDate().toEpochDay(); day++) {
+                    free[day - FIRST_DAY]--;
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Counts the free kennels of all kinds of pets together on every day of [FIRST_DAY, HORIZON).
+     */
+    private static int[] naiveTotalFree(BookingList bookingList, KennelCapacity capacity) {
+        int[] total = naiveFree(bookingList, capacity, null);
+        for (String className : capacity.getClassNames()) {
+            int[] free = naiveFree(bookingList, capacity, className);
+            for (int i = 0; i < total.length; i++) {
+                total[i] += free[i];
+            }
+        }
+        return total;
+    }
+
+    private static void checkQueries(BookingList bookingList, KennelCapacity capacity, Random random, int round) {
+        String className = CLASS_NAMES[random.nextInt(CLASS_NAMES.length)];
+        int[] free = className == null ? naiveTotalFree(bookingList, capacity) : naiveFree(bookingList, capacity, className);
+        String what = "round " + round + ", class " + className;
+
+        int[] found = bookingList.getFreeSpaces(Date.ofEpochDay(FIRST_DAY), free.length, className);
+        check(Arrays.equals(found, free), "getFreeSpaces, " + what);
+        int[] shared = naiveFree(bookingList, capacity, null);
+        check(Arrays.equals(bookingList.getFreeSharedSpaces(Date.ofEpochDay(FIRST_DAY), shared.length), shared),
+                "getFreeSharedSpaces, " + what);
+
+        int from = FIRST_DAY + random.nextInt(LAST_DAY - FIRST_DAY);
+        int to = from + random.nextInt(30);
+        boolean kennelFree = true;
+        for (int day = from; day < to; day++) {
+            kennelFree &= free[day - FIRST_DAY] > 0;
+        }
+        check(bookingList.isKennelFree(Date.ofEpochDay(from), Date.ofEpochDay(to), className) == kennelFree,
+                "isKennelFree, " + what);
+
+        int nights = 1 + random.nextInt(6);
+        int kennels = random.nextInt(4);
+        Integer earliest = null;
+        for (int start = from; start + nights <= HORIZON && earliest == null; start++) {
+            if (fits(free, start, start + nights, kennels)) {
+                earliest = start;
+            }
+        }
+        Date window = bookingList.findEarliestFreeWindow(Date.ofEpochDay(from), nights, kennels, className);
+        check(Objects.equals(earliest, window == null ? null : window.toEpochDay()), "findEarliestFreeWindow, " + what);
+
+        ArrayList<String> windows = new ArrayList<String>();
+        int runStart = from;
+        for (int day = from; day <= to; day++) {
+            if (day == to || free[day - FIRST_DAY] < kennels) {
+                if (day - runStart >= nights) {
+                    windows.add(Date.ofEpochDay(runStart) + "-" + Date.ofEpochDay(day));
+                }
+                runStart = day + 1;
+            }
+        }
+        ArrayList<String> foundWindows = new ArrayList<String>();
+        for (BookingList.FreeWindow freeWindow : bookingList.findFreeWindows(Date.ofEpochDay(from), Date.ofEpochDay(to), nights, kennels, className)) {
+            foundWindows.add(freeWindow.startDate() + "-" + freeWindow.endDate());
+        }
+        check(windows.equals(foundWindows), "findFreeWindows, " + what + ": " + windows + " but found " + foundWindows);
+    }
+
+    private static boolean fits(int[] free, int startDay, int endDay, int kennels) {
+        for (int day = startDay; day < endDay; day++) {
+            if (free[day - FIRST_DAY] < kennels) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
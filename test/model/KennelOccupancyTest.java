@@ -0,0 +1,56 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Checks the range updates and range queries of the KennelOccupancy segment tree against a plain array
+ * holding the taken kennels of every day.
+ * Run with the src and test folders on the class path: java model.KennelOccupancyTest
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class KennelOccupancyTest {
+    private static final int FIRST_DAY = 19000; // all updates and queries are in the days [FIRST_DAY, FIRST_DAY + DAYS)
+    private static final int DAYS = 400;
+
+    public static void main(String[] args) {
+        Random random = new Random(2);
+        for (int round = 0; round < 50; round++) {
+            KennelOccupancy occupancy = new KennelOccupancy(random.nextInt(6));
+            int[] taken = new int[DAYS];
+            for (int i = 0; i < 500; i++) {
+                int startDay = FIRST_DAY + random.nextInt(DAYS);
+                int endDay = Math.min(startDay + random.nextInt(40), FIRST_DAY + DAYS);
+                int amount = random.nextInt(5) - 2;
+                occupancy.add(startDay, endDay, amount);
+                for (int day = startDay; day < endDay; day++) {
+                    taken[day - FIRST_DAY] += amount;
+                }
+
+                int from = FIRST_DAY + random.nextInt(DAYS);
+                int to = Math.min(from + random.nextInt(60), FIRST_DAY + DAYS);
+                int maxTaken = from < to ? Integer.MIN_VALUE : 0;
+                for (int day = from; day < to; day++) {
+                    maxTaken = Math.max(maxTaken, taken[day - FIRST_DAY]);
+                }
+                check(occupancy.getMaxTaken(from, to) == maxTaken, "getMaxTaken, round " + round);
+                check(occupancy.getTaken(from) == taken[from - FIRST_DAY], "getTaken, round " + round);
+
+                int[] free = occupancy.getFree(from, to - from);
+                for (int day = from; day < to; day++) {
+                    check(free[day - from] == occupancy.getCapacity() - taken[day - FIRST_DAY], "getFree, round " + round);
+                }
+            }
+            occupancy.clear();
+            check(occupancy.getMaxTaken(FIRST_DAY, FIRST_DAY + DAYS) == 0, "clear, round " + round);
+        }
+        System.out.println("KennelOccupancyTest ok");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package model;
+
+import utils.FileManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Checks that the lists, the kennel capacity and the journal records read back by ModelCodec are the ones written,
+ * and that the files written with Java serialization by older versions are still read.
+ * Run with the src and test folders on the class path: java model.ModelCodecTest
+ *
+ * @author Vanessa Hututuc, Jakub Baczek, Natalia Muchova, Tymoteusz Żydkiewicz, Yuchen Zhang
+ * @version 1.0 - December 2024
+ */
+public class ModelCodecTest {
+    public static void main(String[] args) throws Exception {
+        Customer anna = new Customer("Anna Nowak", new Address("Main Street", "Horsens", "8700", "12B"), "12345678");
+        Customer bo = new Customer("Bo", null, "87654321");
+        Pet[] pets = {
+                new Dog("brown", 3, "male", "Rex", "likes walks", true, 1500.5, true, "Labrador", "Kennel Nord"),
+                new Cat("grey", 2, "female", "Mia", "", false, 0, false, "Persian", "Anna Nowak"),
+                new Bird("blue", 1, "male", "Kiwi", "æøå €", true, 120, true, "seeds", "Parrot"),
+                new Fish("gold", 1, "female", "Nemo", "", true, 15, true, true, "salt", "Clownfish"),
+                new Rodent("white", 1, "male", "Pip", "", true, 30, false, "Hamster", true)
+        };
+
+        PetList petList = new PetList();
+        for (Pet pet : pets) {
+            petList.addPet(pet);
+        }
+        PetList readPets = roundTrip(petList);
+        check(readPets.getModificationCount() == petList.getModificationCount(), "modification count of the pets");
+        checkPets(petList.getAllPets(), readPets.getAllPets());
+
+        CustomerList customerList = new CustomerList();
+        customerList.addCustomer(anna);
+        customerList.addCustomer(bo);
+        CustomerList readCustomers = roundTrip(customerList);
+        check(readCustomers.getModificationCount() == customerList.getModificationCount(), "modification count of the customers");
+        checkCustomers(customerList.getCustomers(), readCustomers.getCustomers());
+
+        SaleList saleList = new SaleList();
+        saleList.addSale(new Sale(anna, pets[0], 1500.5, new Date(1, 12, 2024)));
+        saleList.addSale(new Sale(bo, pets[2], 120, new Date(29, 2, 2024)));
+        saleList.addSale(new Sale(anna, pets[3], 15, new Date(31, 12, 1999)));
+        SaleList readSales = roundTrip(saleList);
+        check(readSales.getModificationCount() == saleList.getModificationCount(), "modification count of the sales");
+        checkSales(saleList.getSales(), readSales.getSales());
+        check(readSales.getSales().get(0).getCustomer() == readSales.getSales().get(2).getCustomer(),
+                "a customer with two sales is read once");
+
+        BookingList bookingList = new BookingList();
+        KennelCapacity capacity = new KennelCapacity(3);
+        capacity.setKennels("Dog", 2);
+        capacity.addChange("Dog", new Date(24, 12, 2024), new Date(27, 12, 2024), -1);
+        capacity.addChange(null, new Date(1, 7, 2025), new Date(1, 8, 2025), 2);
+        bookingList.setCapacity(capacity);
+        bookingList.addBooking(new KennelBooking(anna, pets[0], new Date(20, 12, 2024), new Date(2, 1, 2025), 300));
+        bookingList.addBooking(new KennelBooking(bo, pets[1], new Date(1, 1, 2025), new Date(5, 1, 2025), 80));
+        bookingList.addBooking(new KennelBooking(anna, null, new Date(3, 1, 2025), new Date(4, 1, 2025), 20));
+        BookingList readBookings = roundTrip(bookingList);
+        check(readBookings.getModificationCount() == bookingList.getModificationCount(), "modification count of the bookings");
+        checkBookings(bookingList.getBookings(), readBookings.getBookings());
+
+        KennelCapacity readCapacity = (KennelCapacity) ModelCodec.decode(ModelCodec.encode(capacity));
+        checkCapacity(capacity, readCapacity);
+
+        // the files written with Java serialization by older versions
+        PetList oldPets = (PetList) ModelCodec.decode(ByteBuffer.wrap(FileManager.toBinary(petList)));
+        checkPets(petList.getAllPets(), oldPets.getAllPets());
+        SaleList oldSales = (SaleList) ModelCodec.decode(ByteBuffer.wrap(FileManager.toBinary(saleList)));
+        checkSales(saleList.getSales(), oldSales.getSales());
+        checkCapacity(capacity, (KennelCapacity) ModelCodec.decode(ByteBuffer.wrap(FileManager.toBinary(capacity))));
+
+        // damaged and empty files
+        check(ModelCodec.decode(ByteBuffer.allocate(0)) == null, "an empty file is read as null");
+        ByteBuffer encoded = ModelCodec.encode(saleList);
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        checkDamaged(Arrays.copyOf(bytes, bytes.length - 3), "a cut off file");
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] = 'X';
+        checkDamaged(wrongMagic, "a file with the wrong magic number");
+        byte[] newerVersion = bytes.clone();
+        newerVersion[4] = ModelCodec.VERSION + 1;
+        checkDamaged(newerVersion, "a file of a newer version");
+
+        checkRecords(anna, bo, pets, saleList, bookingList);
+        System.out.println("ModelCodecTest ok");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends ModelList<?>> T roundTrip(T list) throws IOException, ClassNotFoundException {
+        return (T) ModelCodec.decode(ModelCodec.encode(list));
+    }
+
+    /**
+     * Writes single elements as journal records and reads them back, where a pet or customer written in an
+     * earlier record is referenced by its id only.
+     */
+    private static void checkRecords(Customer anna, Customer bo, Pet[] pets, SaleList saleList, BookingList bookingList)
+            throws IOException {
+        IdentityMap<Pet> writtenPets = new IdentityMap<Pet>();
+        IdentityMap<Customer> writtenCustomers = new IdentityMap<Customer>();
+        IdentityMap<Pet> readPets = new IdentityMap<Pet>();
+        IdentityMap<Customer> readCustomers = new IdentityMap<Customer>();
+
+        Pet pet = (Pet) ModelCodec.decodeRecord(ModelCodec.encodeRecord(pets[4], writtenPets, writtenCustomers),
+                ModelCodec.PETS, readPets, readCustomers);
+        checkPets(listOf(pets[4]), listOf(pet));
+        Customer customer = (Customer) ModelCodec.decodeRecord(ModelCodec.encodeRecord(bo, writtenPets, writtenCustomers),
+                ModelCodec.CUSTOMERS, readPets, readCustomers);
+        checkCustomers(listOf(bo), listOf(customer));
+
+        ArrayList<Sale> sales = new ArrayList<Sale>();
+        for (Sale sale : saleList.getSales()) {
+            sales.add((Sale) ModelCodec.decodeRecord(ModelCodec.encodeRecord(sale, writtenPets, writtenCustomers),
+                    ModelCodec.SALES, readPets, readCustomers));
+        }
+        checkSales(saleList.getSales(), sales);
+        check(sales.get(0).getCustomer() == sales.get(2).getCustomer(), "a customer of two records is read once");
+        check(sales.get(1).getCustomer() == customer, "a customer of an earlier record is shared");
+
+        ArrayList<KennelBooking> bookings = new ArrayList<KennelBooking>();
+        for (KennelBooking booking : bookingList.getBookings()) {
+            bookings.add((KennelBooking) ModelCodec.decodeRecord(ModelCodec.encodeRecord(booking, writtenPets, writtenCustomers),
+                    ModelCodec.BOOKINGS, readPets, readCustomers));
+        }
+        checkBookings(bookingList.getBookings(), bookings);
+        check(bookings.get(0).getCustomer() == sales.get(0).getCustomer(), "a customer of a sale and a booking is read once");
+
+        ByteBuffer record = ModelCodec.encodeRecord(pets[0], new IdentityMap<Pet>(), new IdentityMap<Customer>());
+        record.limit(record.limit() - 1);
+        try {
+            ModelCodec.decodeRecord(record, ModelCodec.PETS, new IdentityMap<Pet>(), new IdentityMap<Customer>());
+            throw new AssertionError("a cut off record was read");
+        } catch (IOException expected) {
+            // the damaged record is reported
+        }
+    }
+
+    private static <T> ArrayList<T> listOf(T element) {
+        ArrayList<T> list = new ArrayList<T>();
+        list.add(element);
+        return list;
+    }
+
+    private static void checkPets(ArrayList<Pet> written, ArrayList<Pet> read) {
+        check(written.size() == read.size(), "number of pets");
+        for (int i = 0; i < written.size(); i++) {
+            Pet pet = written.get(i);
+            Pet readPet = read.get(i);
+            check(pet.getId() == readPet.getId() && pet.getPetClassName().equals(readPet.getPetClassName())
+                    && pet.hasSameData(readPet) && pet.toString().equals(readPet.toString()), "pet " + pet);
+        }
+    }
+
+    private static void checkCustomers(ArrayList<Customer> written, ArrayList<Customer> read) {
+        check(written.size() == read.size(), "number of customers");
+        for (int i = 0; i < written.size(); i++) {
+            Customer customer = written.get(i);
+            Customer readCustomer = read.get(i);
+            check(customer.getId() == readCustomer.getId() && customer.hasSameData(readCustomer)
+                    && customer.toString().equals(readCustomer.toString()), "customer " + customer);
+        }
+    }
+
+    private static void checkSales(ArrayList<Sale> written, ArrayList<Sale> read) {
+        check(written.size() == read.size(), "number of sales");
+        for (int i = 0; i < written.size(); i++) {
+            Sale sale = written.get(i);
+            Sale readSale = read.get(i);
+            check(sale.getId() == readSale.getId() && sale.toString().equals(readSale.toString()), "sale " + sale);
+            checkCustomers(listOf(sale.getCustomer()), listOf(readSale.getCustomer()));
+            checkPets(listOf(sale.getPet()), listOf(readSale.getPet()));
+        }
+    }
+
+    private static void checkBookings(ArrayList<KennelBooking> written, ArrayList<KennelBooking> read) {
+        check(written.size() == read.size(), "number of bookings");
+        for (int i = 0; i < written.size(); i++) {
+            KennelBooking booking = written.get(i);
+            KennelBooking readBooking = read.get(i);
+            check(booking.getId() == readBooking.getId() && booking.getPrice() == readBooking.getPrice()
+                    && booking.getStartDate().equals(readBooking.getStartDate())
+                    && booking.getEndDate().equals(readBooking.getEndDate()), "booking " + booking.getId());
+            checkCustomers(listOf(booking.getCustomer()), listOf(readBooking.getCustomer()));
+            check((booking.getPet() == null) == (readBooking.getPet() == null), "pet of booking " + booking.getId());
+            if (booking.getPet() != null) {
+                checkPets(listOf(booking.getPet()), listOf(readBooking.getPet()));
+            }
+        }
+    }
+
+    private static void checkCapacity(KennelCapacity written, KennelCapacity read) {
+        check(read.getKennels(null) == written.getKennels(null), "shared kennels");
+        check(read.getClassNames().equals(written.getClassNames()), "kinds of pets with kennels of their own");
+        for (String className : written.getClassNames()) {
+            check(read.getKennels(className) == written.getKennels(className), "kennels for " + className);
+        }
+        check(read.getChanges().equals(written.getChanges()), "capacity changes");
+    }
+
+    private static void checkDamaged(byte[] bytes, String what) throws ClassNotFoundException {
+        try {
+            ModelCodec.decode(ByteBuffer.wrap(bytes));
+            throw new AssertionError(what + " was read");
+        } catch (IOException expected) {
+            // the damaged file is reported, so the backups are tried
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
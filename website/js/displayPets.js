@@ -13,8 +13,13 @@ let cardBlueprint = `<div class="col">
                   </div>
               </div>`;
 
-// Fetch the XML file containing pet information
-fetch('../savedInformation/petsForWebsite.xml')
+// Address of the VIAPets application when it is started with -Dviapets.website.port=8080
+const viaPetsServer = 'http://localhost:8080';
+
+// Ask the application for the pets for sale, and read the XML file when the application is not running
+fetch(viaPetsServer + '/pets')
+.then(response => response.ok ? response : Promise.reject(response.status))
+.catch(() => fetch('../savedInformation/petsForWebsite.xml'))
 .then(response => response.text()) // Parse response as text
 .then(data => {
     // Parse the XML data
@@ -62,12 +67,12 @@ fetch('../savedInformation/petsForWebsite.xml')
         }
 
         // Replace placeholders with actual pet information
-        currentElement = currentElement.replace("&species;", element.getElementsByTagName("species")[0].textContent);
-        currentElement = currentElement.replace("&name;", element.getElementsByTagName("name")[0].textContent);
-        currentElement = currentElement.replace("&age;", element.getElementsByTagName("age")[0].textContent);
-        currentElement = currentElement.replace("&color;", element.getElementsByTagName("color")[0].textContent);
-        currentElement = currentElement.replace("&gender;", element.getElementsByTagName("gender")[0].textContent);
-        currentElement = currentElement.replace("&price;", element.getElementsByTagName("price")[0].textContent);
+        currentElement = currentElement.replace("&species;", () => getEscapedText(element, "species"));
+        currentElement = currentElement.replace("&name;", () => getEscapedText(element, "name"));
+        currentElement = currentElement.replace("&age;", () => getEscapedText(element, "age"));
+        currentElement = currentElement.replace("&color;", () => getEscapedText(element, "color"));
+        currentElement = currentElement.replace("&gender;", () => getEscapedText(element, "gender"));
+        currentElement = currentElement.replace("&price;", () => getEscapedText(element, "price"));
 
         // Append the populated card to the container
         document.getElementById("pets").innerHTML += currentElement;
@@ -81,3 +86,13 @@ fetch('../savedInformation/petsForWebsite.xml')
 function getRandomInt(max) {
     return Math.floor(Math.random() * max);
 }
+
+// Function to get the text of a child element, escaped so it is shown as text in the HTML
+function getEscapedText(element, tagName) {
+    return element.getElementsByTagName(tagName)[0].textContent
+        .replace(/&/g, "&amp;")
+        .replace(/</g, "&lt;")
+        .replace(/>/g, "&gt;")
+        .replace(/"/g, "&quot;")
+        .replace(/'/g, "&#39;");
+}
@@ -1,12 +1,47 @@
-// Fetch the text file containing the number of free spaces
-fetch('../savedInformation/getFreeSpace.txt')
-.then(response => response.text()) // Parse the response as text
-.then(data => {
-    // Update the HTML element with the retrieved free spaces data
-    document.getElementById('freeSpaces').innerText = data;
+// Address of the VIAPets application when it is started with -Dviapets.website.port=8080
+const viaPetsServer = 'http://localhost:8080';
+const millisecondsPerDay = 24 * 60 * 60 * 1000;
+
+// Ask the application for the calendar of free spaces, and read the JSON file when the application is not running
+fetch(viaPetsServer + '/availability')
+.then(response => response.ok ? response : Promise.reject(response.status))
+.catch(() => fetch('../savedInformation/availability.json'))
+.then(response => response.ok ? response.json() : Promise.reject(response.status)) // Parse the response as JSON
+.then(forecast => {
+    // The calendar can have been written on an earlier day, so find today in it
+    let start = Date.parse(forecast.start);
+    let now = new Date();
+    let today = Date.UTC(now.getFullYear(), now.getMonth(), now.getDate());
+    let firstDay = Math.round((today - start) / millisecondsPerDay);
+    if (firstDay < 0 || firstDay >= forecast.free.length) {
+        return Promise.reject('The calendar does not contain today');
+    }
+
+    // Update the HTML element with today's free spaces
+    document.getElementById('freeSpaces').innerText = forecast.free[firstDay];
+
+    // Show one small card for every following day
+    let days = "";
+    for (let i = firstDay; i < forecast.free.length; i++) {
+        let day = new Date(start + i * millisecondsPerDay);
+        let label = day.getUTCDate() + "." + (day.getUTCMonth() + 1) + ".";
+        let free = forecast.free[i];
+        let color = free == 0 ? "text-bg-danger" : (free * 4 <= forecast.capacity ? "text-bg-warning" : "text-bg-success");
+        days += `<div class="col"><span class="badge ${color} w-100">${label}<br>${free}</span></div>`;
+    }
+    document.getElementById('availability').innerHTML = days;
 })
-.catch(error => {
-    // Log the error to the console and display an error message in the HTML
-    console.error('Error:', error);
-    document.getElementById('freeSpaces').innerText = "An error has occurred";
+.catch(() => {
+    // Without the calendar, read today's free spaces from the text file
+    fetch('../savedInformation/getFreeSpace.txt')
+    .then(response => response.text()) // Parse the response as text
+    .then(data => {
+        // Update the HTML element with the retrieved free spaces data
+        document.getElementById('freeSpaces').innerText = data;
+    })
+    .catch(error => {
+        // Log the error to the console and display an error message in the HTML
+        console.error('Error:', error);
+        document.getElementById('freeSpaces').innerText = "An error has occurred";
+    });
 });